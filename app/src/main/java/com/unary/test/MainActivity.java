@@ -35,6 +35,10 @@ public class MainActivity extends AppCompatActivity {
         //mSeekBar.setThumbDrawable(null);
         //mSeekBar.setBackground(null);
 
+        // Check the gradient under a thick round cap
+        //mSeekBar.setStrokeWidth(24 * getResources().getDisplayMetrics().density);
+        //mSeekBar.setProgressGradient(new int[]{Color.GREEN, Color.YELLOW, Color.RED});
+
         mSeekBar.setOnProgressChangeListener(new CircularSeekBar.OnProgressChangeListener() {
             @Override
             public boolean onProgressChanging(@NonNull CircularSeekBar seekBar, int progress) {
@@ -0,0 +1,129 @@
+/*
+ * Copyright 2020 Christopher Zaborsky
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.unary.circularseekbar.benchmark;
+
+import com.unary.circularseekbar.core.ArcGeometry;
+import com.unary.circularseekbar.core.TrigTable;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the math run for each ACTION_MOVE: the angle of the touch point, pie slice clamping as
+ * in updateScroll(), step quantisation, the step angle and the thumb point. Touch points are spread
+ * around the orbit of the ellipse and replayed in a fixed order.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class TouchPipelineBenchmark {
+
+    private static final int POINTS = 1024; // Power of two
+    private static final float WIDTH = 1024; // px
+    private static final float TOUCH_RADIUS = 36; // px
+    private static final float START_ANGLE = 90;
+
+    @Param({"100", "10000", "1099511627776"})
+    public long range;
+
+    @Param({"90", "270", "359.9"})
+    public float sweepAngle;
+
+    @Param({"1.0", "0.5"})
+    public float aspectRatio;
+
+    @Param({"exact", "table"})
+    public String trigMode;
+
+    private final float[] mPointsX = new float[POINTS];
+    private final float[] mPointsY = new float[POINTS];
+    private float mCenterX;
+    private float mCenterY;
+    private float mRadiusX;
+    private float mRadiusY;
+    private TrigTable mTrigTable;
+    private int mIndex;
+    private double mThumbX;
+    private double mThumbY;
+
+    @Setup
+    public void setup() {
+        mRadiusX = WIDTH / 2 - TOUCH_RADIUS;
+        mRadiusY = WIDTH * aspectRatio / 2 - TOUCH_RADIUS;
+        mCenterX = WIDTH / 2;
+        mCenterY = WIDTH * aspectRatio / 2;
+        mTrigTable = "table".equals(trigMode) ? TrigTable.obtain(Math.max((long) (range * 360d / sweepAngle), (long) (Math.PI * (mRadiusX + mRadiusY)))) : null;
+
+        Random random = new Random(42);
+
+        // Scatter across the orbit
+        for (int i = 0; i < POINTS; i++) {
+            double angle = random.nextDouble() * 2 * Math.PI;
+            double offset = (random.nextDouble() * 2 - 1) * TOUCH_RADIUS;
+
+            mPointsX[i] = (float) (mCenterX + (mRadiusX + offset) * Math.cos(angle));
+            mPointsY[i] = (float) (mCenterY + (mRadiusY + offset) * Math.sin(angle));
+        }
+
+        mThumbX = ArcGeometry.getPointX(0, mCenterX, mRadiusX, START_ANGLE, mTrigTable);
+        mThumbY = ArcGeometry.getPointY(0, mCenterY, mRadiusY, START_ANGLE, mTrigTable);
+    }
+
+    @Benchmark
+    public void actionMove(Blackhole blackhole) {
+        int index = mIndex++ & (POINTS - 1);
+        float x = mPointsX[index];
+        float y = mPointsY[index];
+
+        boolean thumb = ArcGeometry.isInsideEllipse((float) (x - mThumbX), (float) (y - mThumbY), TOUCH_RADIUS, TOUCH_RADIUS);
+        float angle = ArcGeometry.getTouchAngle(ArcGeometry.getAngle(x, y, mCenterX, mCenterY, START_ANGLE, mTrigTable), sweepAngle, thumb);
+
+        if (angle < sweepAngle + 1) {
+            long step = ArcGeometry.getStepFromAngle(angle, range, sweepAngle);
+            float stepAngle = (float) ArcGeometry.getStepAngleFromStep(step, range, sweepAngle);
+
+            mThumbX = ArcGeometry.getPointX(stepAngle, mCenterX, mRadiusX, START_ANGLE, mTrigTable);
+            mThumbY = ArcGeometry.getPointY(stepAngle, mCenterY, mRadiusY, START_ANGLE, mTrigTable);
+
+            blackhole.consume(step);
+        }
+
+        blackhole.consume(mThumbX);
+        blackhole.consume(mThumbY);
+    }
+
+    @Benchmark
+    public float angleFromPoint() {
+        int index = mIndex++ & (POINTS - 1);
+        return ArcGeometry.getAngle(mPointsX[index], mPointsY[index], mCenterX, mCenterY, START_ANGLE, mTrigTable);
+    }
+
+    @Benchmark
+    public double stepAngleFromAngle() {
+        int index = mIndex++ & (POINTS - 1);
+        return ArcGeometry.getStepAngleFromAngle(sweepAngle * index / POINTS, range, sweepAngle);
+    }
+}
@@ -0,0 +1,88 @@
+/*
+ * Copyright 2020 Christopher Zaborsky
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.unary.circularseekbar.benchmark;
+
+import com.unary.circularseekbar.core.TrigTable;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the trig lookup table and arctangent approximation with the exact Math functions used
+ * by trigMode "exact".
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class TrigBenchmark {
+
+    private static final int VALUES = 1024; // Power of two
+
+    @Param({"512", "4096", "65536"})
+    public long resolution;
+
+    private final float[] mDegrees = new float[VALUES];
+    private final float[] mAxisX = new float[VALUES];
+    private final float[] mAxisY = new float[VALUES];
+    private TrigTable mTrigTable;
+    private int mIndex;
+
+    @Setup
+    public void setup() {
+        mTrigTable = TrigTable.obtain(resolution);
+
+        Random random = new Random(42);
+
+        for (int i = 0; i < VALUES; i++) {
+            mDegrees[i] = random.nextFloat() * 720 - 360;
+            mAxisX[i] = random.nextFloat() * 1024 - 512;
+            mAxisY[i] = random.nextFloat() * 1024 - 512;
+        }
+    }
+
+    @Benchmark
+    public double sinCosExact() {
+        double radians = Math.toRadians(mDegrees[mIndex++ & (VALUES - 1)]);
+        return Math.sin(radians) + Math.cos(radians);
+    }
+
+    @Benchmark
+    public float sinCosTable() {
+        float degrees = mDegrees[mIndex++ & (VALUES - 1)];
+        return mTrigTable.sin(degrees) + mTrigTable.cos(degrees);
+    }
+
+    @Benchmark
+    public double atan2Exact() {
+        int index = mIndex++ & (VALUES - 1);
+        return Math.toDegrees(Math.atan2(mAxisY[index], mAxisX[index]));
+    }
+
+    @Benchmark
+    public float atan2Table() {
+        int index = mIndex++ & (VALUES - 1);
+        return TrigTable.atan2(mAxisY[index], mAxisX[index]);
+    }
+}
@@ -0,0 +1,154 @@
+/*
+ * Copyright 2020 Christopher Zaborsky
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.unary.circularseekbar.core;
+
+/**
+ * Holds the progress angle and animates it between two values. This follows the Scroller contract
+ * and viscous fluid curve, but keeps the angle in double precision instead of integer pixels. The
+ * clock is supplied by the caller.
+ */
+public final class AngleEngine {
+
+    private static final int DURATION = 250; // ms
+    private static final double VISCOUS_FLUID_SCALE = 8;
+    private static final double VISCOUS_FLUID_NORMALIZE = 1 / viscousFluid(1);
+    private static final double VISCOUS_FLUID_OFFSET = 1 - VISCOUS_FLUID_NORMALIZE * viscousFluid(1);
+
+    private double mStartAngle;
+    private double mFinalAngle;
+    private double mCurrAngle;
+    private long mStartTime;
+    private int mDuration;
+    private boolean mFinished = true;
+
+    /**
+     * Update the current angle for the given time.
+     *
+     * @param now Current animation time in milliseconds.
+     * @return True if the animation was running before this call.
+     */
+    public boolean computeAngleOffset(long now) {
+        if (mFinished) {
+            return false;
+        }
+
+        long elapsed = Math.max(0, now - mStartTime);
+
+        if (elapsed < mDuration) {
+            double delta = mFinalAngle - mStartAngle;
+            mCurrAngle = mStartAngle + delta * interpolate((float) elapsed / mDuration);
+        } else {
+            mCurrAngle = mFinalAngle;
+            mFinished = true;
+        }
+
+        return true;
+    }
+
+    /**
+     * Start animating from one angle to another with the default duration.
+     *
+     * @param fromAngle Starting angle.
+     * @param toAngle   Final angle.
+     * @param now       Current animation time in milliseconds.
+     */
+    public void startScroll(double fromAngle, double toAngle, long now) {
+        mStartAngle = fromAngle;
+        mFinalAngle = toAngle;
+        mCurrAngle = mStartAngle;
+        mStartTime = now;
+        mDuration = DURATION;
+        mFinished = false;
+    }
+
+    /**
+     * Set the final angle. The current angle jumps to it on the next computeAngleOffset() call,
+     * which reports a single frame of animation.
+     *
+     * @param angle Final angle.
+     */
+    public void setFinalAngle(double angle) {
+        mStartAngle = mCurrAngle;
+        mFinalAngle = angle;
+        mDuration = 0;
+        mFinished = false;
+    }
+
+    /**
+     * Stop the animation where it is. The current angle is not updated.
+     */
+    public void forceFinished() {
+        mFinished = true;
+    }
+
+    /**
+     * Check the finished state of the animation.
+     *
+     * @return True if the animation has finished.
+     */
+    public boolean isFinished() {
+        return mFinished;
+    }
+
+    /**
+     * Get the current angle, as of the last computeAngleOffset() call.
+     *
+     * @return The current angle.
+     */
+    public double getCurrAngle() {
+        return mCurrAngle;
+    }
+
+    /**
+     * Get the final angle of the animation.
+     *
+     * @return The final angle.
+     */
+    public double getFinalAngle() {
+        return mFinalAngle;
+    }
+
+    /**
+     * Apply the normalized viscous fluid curve used by Scroller.
+     *
+     * @param input Elapsed fraction of the duration.
+     * @return Interpolated fraction.
+     */
+    private static double interpolate(float input) {
+        double interpolated = VISCOUS_FLUID_NORMALIZE * viscousFluid(input);
+        return interpolated > 0 ? interpolated + VISCOUS_FLUID_OFFSET : interpolated;
+    }
+
+    /**
+     * Find the raw viscous fluid value of a fraction.
+     *
+     * @param x Elapsed fraction of the duration.
+     * @return Viscous fluid value.
+     */
+    private static double viscousFluid(double x) {
+        x *= VISCOUS_FLUID_SCALE;
+
+        if (x < 1) {
+            x -= 1 - Math.exp(-x);
+        } else {
+            double start = 0.36787944117; // 1 / e
+            x = 1 - Math.exp(1 - x);
+            x = start + x * (1 - start);
+        }
+
+        return x;
+    }
+}
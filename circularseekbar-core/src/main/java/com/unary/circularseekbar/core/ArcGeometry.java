@@ -0,0 +1,294 @@
+/*
+ * Copyright 2020 Christopher Zaborsky
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.unary.circularseekbar.core;
+
+/**
+ * The geometry and step math of a circular SeekBar. Angles are in degrees and relative to the start
+ * angle unless stated otherwise. The methods are pure functions, so they can be tested and profiled
+ * on a plain JVM. A trig table may be passed in place of the exact functions.
+ */
+public final class ArcGeometry {
+
+    /**
+     * Private constructor. This class only holds static methods.
+     */
+    private ArcGeometry() {
+    }
+
+    /**
+     * Find the angle of a point from the center of the ellipse. This is relative to the startAngle.
+     *
+     * @param x          The X axis.
+     * @param y          The Y axis.
+     * @param centerX    Center of the ellipse on the X axis.
+     * @param centerY    Center of the ellipse on the Y axis.
+     * @param startAngle Starting angle of the arc.
+     * @param table      Trig table for the approximation, or null to use Math.atan2().
+     * @return Angle from the ellipse, between 0 and 360 degrees.
+     */
+    public static float getAngle(float x, float y, float centerX, float centerY, float startAngle, TrigTable table) {
+        float axisX = x - centerX;
+        float axisY = y - centerY;
+
+        // t = atan2(cx - x / cy - y) * 180 / PI
+        double angle = (table != null ? TrigTable.atan2(axisY, axisX) : Math.toDegrees(Math.atan2(axisY, axisX))) - startAngle;
+        return (float) (360 + angle % 360) % 360;
+    }
+
+    /**
+     * Find the X axis of an angle on the ellipse line.
+     *
+     * @param angle      The given angle.
+     * @param centerX    Center of the ellipse on the X axis.
+     * @param radiusX    Semi-axis of the ellipse on the X axis.
+     * @param startAngle Starting angle of the arc.
+     * @param table      Trig table to use, or null for the exact function.
+     * @return The X axis.
+     */
+    public static double getPointX(float angle, float centerX, float radiusX, float startAngle, TrigTable table) {
+        // x = a cos(t)
+        return radiusX * cos(angle + startAngle, table) + centerX;
+    }
+
+    /**
+     * Find the Y axis of an angle on the ellipse line.
+     *
+     * @param angle      The given angle.
+     * @param centerY    Center of the ellipse on the Y axis.
+     * @param radiusY    Semi-axis of the ellipse on the Y axis.
+     * @param startAngle Starting angle of the arc.
+     * @param table      Trig table to use, or null for the exact function.
+     * @return The Y axis.
+     */
+    public static double getPointY(float angle, float centerY, float radiusY, float startAngle, TrigTable table) {
+        // y = b sin(t)
+        return radiusY * sin(angle + startAngle, table) + centerY;
+    }
+
+    /**
+     * Find the cosine of an angle in degrees.
+     *
+     * @param degrees The given angle.
+     * @param table   Trig table to use, or null for the exact function.
+     * @return Cosine of the angle.
+     */
+    public static double cos(float degrees, TrigTable table) {
+        return table != null ? table.cos(degrees) : Math.cos(Math.toRadians(degrees));
+    }
+
+    /**
+     * Find the sine of an angle in degrees.
+     *
+     * @param degrees The given angle.
+     * @param table   Trig table to use, or null for the exact function.
+     * @return Sine of the angle.
+     */
+    public static double sin(float degrees, TrigTable table) {
+        return table != null ? table.sin(degrees) : Math.sin(Math.toRadians(degrees));
+    }
+
+    /**
+     * Find if a given point is inside an ellipse. This is relative to the given axis.
+     *
+     * @param x The X axis.
+     * @param y The Y axis.
+     * @param a Semi-major axis.
+     * @param b Semi-minor axis.
+     * @return True if it is inside the ellipse.
+     */
+    public static boolean isInsideEllipse(float x, float y, float a, float b) {
+        // 1 = (x^2 / a^2) + (y^2 / b^2)
+        return 1 >= (x * x) / (a * a) + (y * y) / (b * b);
+    }
+
+    /**
+     * Check to see if a given point is within the orbit of the ellipse. Unless touchInside is set,
+     * a core inset by twice the touch radius is sectioned out.
+     *
+     * @param x           The X axis.
+     * @param y           The Y axis.
+     * @param centerX     Center of the ellipse on the X axis.
+     * @param centerY     Center of the ellipse on the Y axis.
+     * @param a           Outer semi-axis on the X axis.
+     * @param b           Outer semi-axis on the Y axis.
+     * @param touchRadius Touch radius of the thumb and stroke.
+     * @param touchInside True if the core responds to touch.
+     * @return True if it is within the orbit.
+     */
+    public static boolean isInsideOrbit(float x, float y, float centerX, float centerY, float a, float b, float touchRadius, boolean touchInside) {
+        float axisX = x - centerX;
+        float axisY = y - centerY;
+
+        // Check if inside bounds
+        boolean outer = isInsideEllipse(axisX, axisY, a, b);
+        boolean inner = isInsideEllipse(axisX, axisY, a - touchRadius * 2, b - touchRadius * 2);
+
+        return outer && !(inner && !touchInside);
+    }
+
+    /**
+     * Find the touch angle of an angle. Angles in the pie slice outside of the sweepAngle are
+     * divided between the start and end, unless they are being dragged by the thumb.
+     *
+     * @param angle      The given angle.
+     * @param sweepAngle Sweep angle of the arc.
+     * @param thumb      True if the point is inside the thumb.
+     * @return The touch angle.
+     */
+    public static float getTouchAngle(float angle, float sweepAngle, boolean thumb) {
+        // Divide up the pie slice
+        if (angle > sweepAngle && !thumb) {
+            angle = angle > 360 - ((360 - sweepAngle) / 2) ? 0 : sweepAngle;
+        }
+
+        return angle;
+    }
+
+    /**
+     * Find the nearest of a sorted array of angles. This is a binary search for the first angle at
+     * or after the given angle, compared with the one before it. Equal angles resolve to the one on
+     * the side of the given angle.
+     *
+     * @param angles Sorted angles, such as those of the thumbs.
+     * @param angle  The given angle.
+     * @return Index of the nearest angle.
+     */
+    public static int findNearestAngle(double[] angles, double angle) {
+        int low = 0;
+        int high = angles.length;
+
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+
+            if (angles[mid] < angle) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+
+        if (low == 0) {
+            return 0;
+        } else if (low == angles.length) {
+            return angles.length - 1;
+        }
+
+        return angle - angles[low - 1] <= angles[low] - angle ? low - 1 : low;
+    }
+
+    /**
+     * Clamp an angle between the neighbors of an index in a sorted array of angles. The first and
+     * last indexes are bounded by the start and end of the sweep instead.
+     *
+     * @param angles     Sorted angles, such as those of the thumbs.
+     * @param index      Index the angle is for.
+     * @param angle      The given angle.
+     * @param sweepAngle Sweep angle of the arc.
+     * @return The clamped angle.
+     */
+    public static double clampAngle(double[] angles, int index, double angle, float sweepAngle) {
+        double lower = index > 0 ? angles[index - 1] : 0;
+        double upper = index < angles.length - 1 ? angles[index + 1] : sweepAngle;
+
+        return angle < lower ? lower : Math.min(angle, upper);
+    }
+
+    /**
+     * Find the progress step of an angle. This is based on the sweepAngle. Angles outside of the
+     * sweep are clamped to the first or last step.
+     *
+     * @param angle      The given angle.
+     * @param steps      Number of steps, or max minus min.
+     * @param sweepAngle Sweep angle of the arc.
+     * @return Progress step.
+     */
+    public static long getStepFromAngle(double angle, long steps, float sweepAngle) {
+        if (steps == 0 || sweepAngle == 0) {
+            return 0;
+        }
+
+        // Round to the nearest step
+        double rise = (double) sweepAngle / steps;
+        long step = (long) Math.floor(angle / rise + 0.5);
+
+        return Math.min(Math.max(step, 0), steps);
+    }
+
+    /**
+     * Find the progress step angle of an angle. This is based on the sweepAngle.
+     *
+     * @param angle      The given angle.
+     * @param steps      Number of steps, or max minus min.
+     * @param sweepAngle Sweep angle of the arc.
+     * @return Progress step angle.
+     */
+    public static double getStepAngleFromAngle(double angle, long steps, float sweepAngle) {
+        return getStepAngleFromStep(getStepFromAngle(angle, steps, sweepAngle), steps, sweepAngle);
+    }
+
+    /**
+     * Find the progress step angle of a step. This is based on the sweepAngle.
+     *
+     * @param step       Progress step.
+     * @param steps      Number of steps, or max minus min.
+     * @param sweepAngle Sweep angle of the arc.
+     * @return Progress step angle.
+     */
+    public static double getStepAngleFromStep(long step, long steps, float sweepAngle) {
+        // Multiply first so the last step is exact
+        return steps == 0 ? 0 : (double) sweepAngle * step / steps;
+    }
+
+    /**
+     * Find the stride of the tick marks. Ticks are thinned to every 2nd, 5th, 10th step and so on
+     * until they are at least the spacing apart along the arc.
+     *
+     * @param length  Length of the arc.
+     * @param steps   Number of steps, or max minus min.
+     * @param spacing Minimum spacing of the ticks.
+     * @return Steps between ticks.
+     */
+    public static long getTickStride(double length, long steps, float spacing) {
+        long stride = 1;
+
+        for (int i = 0; length * stride / steps < spacing && stride < steps; i++) {
+            stride = (i % 3 == 1 ? stride / 2 * 5 : stride * 2);
+        }
+
+        return stride;
+    }
+
+    /**
+     * Find the number of tick marks for a stride. A last tick that would meet the first one on a
+     * closed arc is left out.
+     *
+     * @param steps      Number of steps, or max minus min.
+     * @param stride     Steps between ticks.
+     * @param sweepAngle Sweep angle of the arc.
+     * @return Number of ticks.
+     */
+    public static long getTickCount(long steps, long stride, float sweepAngle) {
+        long count = steps / stride + 1;
+        double gap = 360 - getStepAngleFromStep((count - 1) * stride, steps, sweepAngle);
+
+        // Drop a last tick that meets the first
+        if (count > 1 && gap < getStepAngleFromStep(stride, steps, sweepAngle) / 2) {
+            count--;
+        }
+
+        return count;
+    }
+}
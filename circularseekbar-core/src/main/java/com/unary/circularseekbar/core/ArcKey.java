@@ -0,0 +1,60 @@
+/*
+ * Copyright 2020 Christopher Zaborsky
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.unary.circularseekbar.core;
+
+/**
+ * The values a cached arc was last built from. These are the bounds of the ellipse and the start
+ * and sweep angles. Stroke width and padding feed the bounds, so a cached path only has to be
+ * rebuilt when this key changes.
+ */
+public final class ArcKey {
+
+    private float mLeft;
+    private float mTop;
+    private float mRight;
+    private float mBottom;
+    private float mStartAngle;
+    private float mSweepAngle;
+    private boolean mValid;
+
+    /**
+     * Update the key. The arc should be rebuilt if this returns true.
+     *
+     * @param left       Left of the ellipse bounds.
+     * @param top        Top of the ellipse bounds.
+     * @param right      Right of the ellipse bounds.
+     * @param bottom     Bottom of the ellipse bounds.
+     * @param startAngle Starting angle of the arc.
+     * @param sweepAngle Sweep angle of the arc.
+     * @return True if any of the values have changed.
+     */
+    public boolean update(float left, float top, float right, float bottom, float startAngle, float sweepAngle) {
+        if (mValid && mLeft == left && mTop == top && mRight == right && mBottom == bottom
+                && mStartAngle == startAngle && mSweepAngle == sweepAngle) {
+            return false;
+        }
+
+        mLeft = left;
+        mTop = top;
+        mRight = right;
+        mBottom = bottom;
+        mStartAngle = startAngle;
+        mSweepAngle = sweepAngle;
+        mValid = true;
+
+        return true;
+    }
+}
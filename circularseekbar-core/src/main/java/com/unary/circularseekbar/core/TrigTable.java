@@ -0,0 +1,147 @@
+/*
+ * Copyright 2020 Christopher Zaborsky
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.unary.circularseekbar.core;
+
+/**
+ * A precomputed sine table over the full circle along with a fast arctangent approximation. Tables
+ * are sized to a power of two and shared between instances of the same resolution.
+ */
+public final class TrigTable {
+
+    private static final int MIN_SHIFT = 9;
+    private static final int MAX_SHIFT = 16;
+    private static final TrigTable[] TABLES = new TrigTable[MAX_SHIFT + 1];
+
+    private final float[] mTable;
+    private final int mMask;
+    private final int mQuarter;
+    private final float mScale;
+
+    /**
+     * Private constructor used to build a table of the given power of two.
+     *
+     * @param shift Power of two for the table size.
+     */
+    private TrigTable(int shift) {
+        int size = 1 << shift;
+
+        mTable = new float[size];
+        mMask = size - 1;
+        mQuarter = size / 4;
+        mScale = size / 360f;
+
+        for (int i = 0; i < size; i++) {
+            mTable[i] = (float) Math.sin(2 * Math.PI * i / size);
+        }
+    }
+
+    /**
+     * Find a shared table with at least the given resolution. This is rounded up to a power of two
+     * and clamped between 512 and 65536 entries.
+     *
+     * @param resolution Entries over the full circle.
+     * @return The shared table.
+     */
+    public static synchronized TrigTable obtain(long resolution) {
+        int shift = MIN_SHIFT;
+
+        while (shift < MAX_SHIFT && (1L << shift) < resolution) {
+            shift++;
+        }
+
+        if (TABLES[shift] == null) {
+            TABLES[shift] = new TrigTable(shift);
+        }
+
+        return TABLES[shift];
+    }
+
+    /**
+     * Get the number of entries in the table over the full circle.
+     *
+     * @return The table size.
+     */
+    public int size() {
+        return mTable.length;
+    }
+
+    /**
+     * Find the sine of an angle from the nearest table entry.
+     *
+     * @param degrees The given angle.
+     * @return Sine of the angle.
+     */
+    public float sin(float degrees) {
+        return mTable[index(degrees)];
+    }
+
+    /**
+     * Find the cosine of an angle from the nearest table entry.
+     *
+     * @param degrees The given angle.
+     * @return Cosine of the angle.
+     */
+    public float cos(float degrees) {
+        return mTable[(index(degrees) + mQuarter) & mMask];
+    }
+
+    /**
+     * Find the table index of an angle. Negative angles are wrapped around the circle.
+     *
+     * @param degrees The given angle.
+     * @return Index into the table.
+     */
+    private int index(float degrees) {
+        return (int) Math.floor(degrees * mScale + 0.5f) & mMask;
+    }
+
+    /**
+     * Approximate the arctangent of y / x in degrees. This uses a polynomial with a maximum error
+     * of about 0.001 degrees and matches the range of Math.atan2().
+     *
+     * @param y The Y axis.
+     * @param x The X axis.
+     * @return Angle between -180 and 180 degrees.
+     */
+    public static float atan2(float y, float x) {
+        float absX = Math.abs(x);
+        float absY = Math.abs(y);
+
+        if (absX == 0 && absY == 0) {
+            return 0;
+        }
+
+        // Keep z within [-1, 1]
+        boolean swap = absY > absX;
+        float z = swap ? x / y : y / x;
+        float z2 = z * z;
+
+        // atan(z) = z (c1 + c3 z^2 + c5 z^4 + c7 z^6 + c9 z^8)
+        float angle = z * (0.9998660f + z2 * (-0.3302995f + z2 * (0.1801410f + z2 * (-0.0851330f + z2 * 0.0208351f))));
+
+        if (swap) {
+            angle = (y > 0 ? 90 : -90) - (float) Math.toDegrees(angle);
+        } else {
+            angle = (float) Math.toDegrees(angle);
+
+            if (x < 0) {
+                angle += y >= 0 ? 180 : -180;
+            }
+        }
+
+        return angle;
+    }
+}
@@ -0,0 +1,89 @@
+package com.unary.circularseekbar.core;
+
+import org.junit.Test;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+
+import static org.junit.Assert.*;
+
+/**
+ * Local unit test for allocations in the touch and draw math, which will execute on a plain JVM.
+ * It is skipped if the JVM can't count the bytes allocated by a thread.
+ */
+public class AllocationTest {
+
+    private static final int DRAGS = 10000;
+    private static final float CENTER = 200; // px
+    private static final float RADIUS = 164; // px
+    private static final float START_ANGLE = 90;
+    private static final float SWEEP_ANGLE = 270;
+    private static final long STEPS = 1L << 40;
+
+    private final AngleEngine mAngleEngine = new AngleEngine();
+    private double mSink;
+
+    @Test
+    public void exactDrags_doNotAllocate() {
+        assertDragsDoNotAllocate(null);
+    }
+
+    @Test
+    public void tableDrags_doNotAllocate() {
+        assertDragsDoNotAllocate(TrigTable.obtain(4096));
+    }
+
+    /**
+     * Run the drags once to warm up, then again while counting the bytes allocated.
+     *
+     * @param table Trig table to use, or null for the exact functions.
+     */
+    private void assertDragsDoNotAllocate(TrigTable table) {
+        ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+
+        if (!(bean instanceof com.sun.management.ThreadMXBean)) {
+            return;
+        }
+
+        com.sun.management.ThreadMXBean threadBean = (com.sun.management.ThreadMXBean) bean;
+        long id = Thread.currentThread().getId();
+
+        drag(table);
+
+        long before = threadBean.getThreadAllocatedBytes(id);
+        long overhead = threadBean.getThreadAllocatedBytes(id) - before;
+
+        before = threadBean.getThreadAllocatedBytes(id);
+        drag(table);
+
+        assertEquals(0, threadBean.getThreadAllocatedBytes(id) - before - overhead);
+    }
+
+    /**
+     * Simulate the math of ACTION_MOVE, the following animation frame and onDraw() for a drag
+     * around the dial.
+     *
+     * @param table Trig table to use, or null for the exact functions.
+     */
+    private void drag(TrigTable table) {
+        for (int i = 0; i < DRAGS; i++) {
+            double radians = Math.toRadians(i * 0.37);
+            float x = (float) (CENTER + RADIUS * Math.cos(radians));
+            float y = (float) (CENTER + RADIUS * Math.sin(radians));
+
+            // onTouchEvent(ACTION_MOVE)
+            float angle = ArcGeometry.getTouchAngle(ArcGeometry.getAngle(x, y, CENTER, CENTER, START_ANGLE, table), SWEEP_ANGLE, false);
+            double stepAngle = ArcGeometry.getStepAngleFromAngle(angle, STEPS, SWEEP_ANGLE);
+            mAngleEngine.startScroll(mAngleEngine.getCurrAngle(), stepAngle, i);
+
+            // onAnimationFrame()
+            mAngleEngine.computeAngleOffset(i + 16);
+            long step = ArcGeometry.getStepFromAngle(mAngleEngine.getCurrAngle(), STEPS, SWEEP_ANGLE);
+
+            // onDraw()
+            float drawn = (float) mAngleEngine.getCurrAngle();
+            mSink += ArcGeometry.getPointX(drawn, CENTER, RADIUS, START_ANGLE, table) + step;
+            mSink += ArcGeometry.getPointY(drawn, CENTER, RADIUS, START_ANGLE, table);
+        }
+    }
+}
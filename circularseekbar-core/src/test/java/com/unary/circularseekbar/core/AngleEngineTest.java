@@ -0,0 +1,89 @@
+package com.unary.circularseekbar.core;
+
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * Local unit test for the angle engine and its step mapping, which will execute on a plain JVM.
+ */
+public class AngleEngineTest {
+
+    private static final float[] SWEEP_ANGLES = {1, 30, 90, 100, 180, 270, 359.9f, 360};
+    private static final int SAMPLES = 200000;
+
+    private final AngleEngine mAngleEngine = new AngleEngine();
+
+    @Test
+    public void smallRanges_roundTripEveryStep() {
+        for (float sweepAngle : SWEEP_ANGLES) {
+            for (long steps = 1; steps <= 1000; steps++) {
+                for (long step = 0; step <= steps; step++) {
+                    assertRoundTrip(step, steps, sweepAngle);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void largeRanges_roundTripRandomSteps() {
+        Random random = new Random(42);
+
+        for (float sweepAngle : SWEEP_ANGLES) {
+            for (int i = 0; i < SAMPLES; i++) {
+                long steps = 1 + (random.nextLong() >>> 1) % (1L << 40);
+                long step = (random.nextLong() >>> 1) % (steps + 1);
+
+                assertRoundTrip(step, steps, sweepAngle);
+            }
+        }
+    }
+
+    @Test
+    public void maxRange_roundTripsEnds() {
+        long steps = 1L << 40;
+
+        for (float sweepAngle : SWEEP_ANGLES) {
+            for (long step = 0; step <= 1000; step++) {
+                assertRoundTrip(step, steps, sweepAngle);
+                assertRoundTrip(steps - step, steps, sweepAngle);
+            }
+        }
+    }
+
+    @Test
+    public void scroll_endsOnFinalAngle() {
+        mAngleEngine.setFinalAngle(0);
+        mAngleEngine.computeAngleOffset(0);
+        mAngleEngine.startScroll(0, 270, 1000);
+
+        assertTrue(mAngleEngine.computeAngleOffset(1100));
+        assertFalse(mAngleEngine.isFinished());
+        assertTrue(mAngleEngine.getCurrAngle() > 0 && mAngleEngine.getCurrAngle() < 270);
+
+        assertTrue(mAngleEngine.computeAngleOffset(1250));
+        assertTrue(mAngleEngine.isFinished());
+        assertEquals(270, mAngleEngine.getCurrAngle(), 0);
+        assertFalse(mAngleEngine.computeAngleOffset(1300));
+    }
+
+    /**
+     * Hold the angle of a step in the engine and check that it maps back to the same step.
+     *
+     * @param step       Progress step.
+     * @param steps      Number of steps.
+     * @param sweepAngle Sweep angle of the arc.
+     */
+    private void assertRoundTrip(long step, long steps, float sweepAngle) {
+        mAngleEngine.setFinalAngle(ArcGeometry.getStepAngleFromStep(step, steps, sweepAngle));
+        mAngleEngine.computeAngleOffset(0);
+
+        long actual = ArcGeometry.getStepFromAngle(mAngleEngine.getCurrAngle(), steps, sweepAngle);
+
+        if (actual != step) {
+            fail("step " + step + " of " + steps + " at sweep " + sweepAngle + " came back as " + actual);
+        }
+    }
+}
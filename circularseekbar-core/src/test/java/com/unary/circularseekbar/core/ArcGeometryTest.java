@@ -0,0 +1,170 @@
+package com.unary.circularseekbar.core;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * Local unit test for the arc geometry, which will execute on a plain JVM.
+ */
+public class ArcGeometryTest {
+
+    private static final float DELTA = 1e-3f;
+
+    @Test
+    public void angle_isRelativeToStart() {
+        // Straight down is 90 degrees
+        assertEquals(0, ArcGeometry.getAngle(100, 200, 100, 100, 90, null), DELTA);
+        assertEquals(90, ArcGeometry.getAngle(0, 100, 100, 100, 90, null), DELTA);
+        assertEquals(270, ArcGeometry.getAngle(200, 100, 100, 100, 90, null), DELTA);
+    }
+
+    @Test
+    public void angle_tableMatchesExact() {
+        TrigTable table = TrigTable.obtain(4096);
+
+        for (int i = 0; i < 360; i++) {
+            float x = (float) (100 + 80 * Math.cos(Math.toRadians(i)));
+            float y = (float) (100 + 50 * Math.sin(Math.toRadians(i)));
+
+            float exact = ArcGeometry.getAngle(x, y, 100, 100, 0, null);
+            float approx = ArcGeometry.getAngle(x, y, 100, 100, 0, table);
+            float error = Math.abs(exact - approx);
+
+            assertTrue(Math.min(error, 360 - error) < 0.01f);
+        }
+    }
+
+    @Test
+    public void point_isOnEllipse() {
+        assertEquals(180, ArcGeometry.getPointX(0, 100, 80, 0, null), DELTA);
+        assertEquals(150, ArcGeometry.getPointY(0, 100, 50, 90, null), DELTA);
+        assertTrue(ArcGeometry.isInsideEllipse(80, 0, 80, 50));
+        assertFalse(ArcGeometry.isInsideEllipse(80, 1, 80, 50));
+    }
+
+    @Test
+    public void orbit_sectionsOutCore() {
+        assertTrue(ArcGeometry.isInsideOrbit(195, 100, 100, 100, 100, 100, 10, false));
+        assertFalse(ArcGeometry.isInsideOrbit(100, 100, 100, 100, 100, 100, 10, false));
+        assertTrue(ArcGeometry.isInsideOrbit(100, 100, 100, 100, 100, 100, 10, true));
+    }
+
+    @Test
+    public void touchAngle_dividesPieSlice() {
+        assertEquals(270, ArcGeometry.getTouchAngle(280, 270, false), DELTA);
+        assertEquals(0, ArcGeometry.getTouchAngle(350, 270, false), DELTA);
+        assertEquals(280, ArcGeometry.getTouchAngle(280, 270, true), DELTA);
+    }
+
+    @Test
+    public void nearestAngle_picksClosestThumb() {
+        double[] angles = {30, 90, 180, 240};
+
+        assertEquals(0, ArcGeometry.findNearestAngle(angles, 0));
+        assertEquals(0, ArcGeometry.findNearestAngle(angles, 60));
+        assertEquals(1, ArcGeometry.findNearestAngle(angles, 61));
+        assertEquals(2, ArcGeometry.findNearestAngle(angles, 180));
+        assertEquals(3, ArcGeometry.findNearestAngle(angles, 270));
+        assertEquals(0, ArcGeometry.findNearestAngle(new double[]{120}, 270));
+    }
+
+    @Test
+    public void nearestAngle_matchesLinearScan() {
+        Random random = new Random(42);
+
+        for (int i = 0; i < 10000; i++) {
+            double[] angles = new double[1 + random.nextInt(8)];
+
+            for (int j = 0; j < angles.length; j++) {
+                angles[j] = random.nextInt(271);
+            }
+
+            Arrays.sort(angles);
+            double angle = random.nextDouble() * 270;
+            int nearest = ArcGeometry.findNearestAngle(angles, angle);
+
+            for (double other : angles) {
+                assertTrue(Math.abs(angles[nearest] - angle) <= Math.abs(other - angle));
+            }
+        }
+    }
+
+    @Test
+    public void nearestAngle_resolvesStackedThumbsBySide() {
+        double[] angles = {90, 90, 90};
+
+        assertEquals(0, ArcGeometry.findNearestAngle(angles, 80));
+        assertEquals(2, ArcGeometry.findNearestAngle(angles, 100));
+    }
+
+    @Test
+    public void clampAngle_staysBetweenNeighbors() {
+        double[] angles = {30, 90, 180};
+
+        assertEquals(30, ArcGeometry.clampAngle(angles, 1, 10, 270), 0);
+        assertEquals(120, ArcGeometry.clampAngle(angles, 1, 120, 270), 0);
+        assertEquals(180, ArcGeometry.clampAngle(angles, 1, 200, 270), 0);
+        assertEquals(0, ArcGeometry.clampAngle(angles, 0, -5, 270), 0);
+        assertEquals(90, ArcGeometry.clampAngle(angles, 0, 100, 270), 0);
+        assertEquals(270, ArcGeometry.clampAngle(angles, 2, 271, 270), 0);
+    }
+
+    @Test
+    public void step_roundTrips() {
+        long steps = 1L << 40;
+
+        for (long step = 0; step <= steps; step += steps / 64) {
+            double angle = ArcGeometry.getStepAngleFromStep(step, steps, 270);
+            assertEquals(step, ArcGeometry.getStepFromAngle(angle, steps, 270));
+        }
+
+        assertEquals(270, ArcGeometry.getStepAngleFromStep(steps, steps, 270), 0);
+        assertEquals(0, ArcGeometry.getStepFromAngle(90, 0, 270));
+    }
+
+    @Test
+    public void step_clampsOutsideSweep() {
+        assertEquals(1000, ArcGeometry.getStepFromAngle(270.9, 1000, 270));
+        assertEquals(1000, ArcGeometry.getStepFromAngle(359, 1000, 270));
+        assertEquals(0, ArcGeometry.getStepFromAngle(-0.9, 1000, 270));
+        assertEquals(1L << 40, ArcGeometry.getStepFromAngle(271, 1L << 40, 270));
+    }
+
+    @Test
+    public void tickStride_followsOneTwoFive() {
+        assertEquals(1, ArcGeometry.getTickStride(1000, 100, 8));
+        assertEquals(2, ArcGeometry.getTickStride(1000, 200, 8));
+        assertEquals(5, ArcGeometry.getTickStride(1000, 500, 8));
+        assertEquals(10, ArcGeometry.getTickStride(1000, 1000, 8));
+        assertEquals(20, ArcGeometry.getTickStride(1000, 2000, 8));
+        assertEquals(50, ArcGeometry.getTickStride(1000, 5000, 8));
+        assertEquals(100, ArcGeometry.getTickStride(1000, 10000, 8));
+    }
+
+    @Test
+    public void tickStride_keepsSpacing() {
+        for (long steps = 1; steps <= 100000; steps = steps * 3 + 1) {
+            long stride = ArcGeometry.getTickStride(500, steps, 8);
+
+            assertTrue(500d * stride / steps >= 8 || stride >= steps);
+        }
+    }
+
+    @Test
+    public void tickCount_dropsClosingTick() {
+        assertEquals(11, ArcGeometry.getTickCount(100, 10, 270));
+        assertEquals(10, ArcGeometry.getTickCount(100, 10, 360));
+        assertEquals(100, ArcGeometry.getTickCount(100, 1, 359.9f));
+        assertEquals(1, ArcGeometry.getTickCount(3, ArcGeometry.getTickStride(1, 3, 8), 270));
+    }
+
+    @Test
+    public void stepAngle_snapsToNearest() {
+        assertEquals(27, ArcGeometry.getStepAngleFromAngle(28, 10, 270), DELTA);
+        assertEquals(54, ArcGeometry.getStepAngleFromAngle(41, 10, 270), DELTA);
+    }
+}
@@ -0,0 +1,30 @@
+package com.unary.circularseekbar.core;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Local unit test for the sweep arc key, which will execute on a plain JVM.
+ */
+public class ArcKeyTest {
+
+    @Test
+    public void firstUpdate_isChange() {
+        assertTrue(new ArcKey().update(0, 0, 0, 0, 0, 0));
+    }
+
+    @Test
+    public void eachValue_isCompared() {
+        ArcKey key = new ArcKey();
+
+        key.update(36, 36, 364, 364, 90, 270);
+        assertTrue(key.update(40, 36, 364, 364, 90, 270));
+        assertTrue(key.update(40, 40, 364, 364, 90, 270));
+        assertTrue(key.update(40, 40, 360, 364, 90, 270));
+        assertTrue(key.update(40, 40, 360, 360, 90, 270));
+        assertTrue(key.update(40, 40, 360, 360, 120, 270));
+        assertTrue(key.update(40, 40, 360, 360, 120, 180));
+        assertFalse(key.update(40, 40, 360, 360, 120, 180));
+    }
+}
@@ -0,0 +1,130 @@
+package com.unary.circularseekbar;
+
+import android.app.Instrumentation;
+import android.content.Context;
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.graphics.drawable.Drawable;
+import android.graphics.drawable.LayerDrawable;
+import android.graphics.drawable.ShapeDrawable;
+import android.graphics.drawable.shapes.OvalShape;
+import android.os.Debug;
+import android.util.Log;
+
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.platform.app.InstrumentationRegistry;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+/**
+ * Instrumented memory benchmark, which will execute on an Android device. It measures the heap
+ * retained per view with the shared default thumb, and with the layered shape thumb every view
+ * created before the drawables were shared. Results are logged under the DrawableMemoryTest tag.
+ * Heap figures vary with the garbage collector, so nothing is asserted.
+ */
+@RunWith(AndroidJUnit4.class)
+public class DrawableMemoryTest {
+
+    private static final String TAG = "DrawableMemoryTest";
+    private static final int VIEWS = 60;
+    private static final int THUMB_SIZE = 48; // dp
+    private static final int THUMB_COLOR = 0xFFECECEC;
+
+    private CircularSeekBar[] mViews;
+
+    @Test
+    public void logRetainedPerView() {
+        final Instrumentation instrumentation = InstrumentationRegistry.getInstrumentation();
+        final Context context = instrumentation.getTargetContext();
+        final long[] retained = new long[2];
+
+        instrumentation.runOnMainSync(new Runnable() {
+            @Override
+            public void run() {
+                retained[0] = measure(context, true);
+                retained[1] = measure(context, false);
+            }
+        });
+
+        Log.i(TAG, "Retained per view: shared " + retained[0] + " bytes, layered " + retained[1] + " bytes");
+    }
+
+    /**
+     * Create and draw the views, and find the heap they retain.
+     *
+     * @param context Context given for the views.
+     * @param shared  True if the default thumb should be used, or false for the layered thumb.
+     * @return The retained bytes per view.
+     */
+    private long measure(Context context, boolean shared) {
+        float density = context.getResources().getDisplayMetrics().density;
+        int size = (int) (THUMB_SIZE * density);
+        Canvas canvas = new Canvas(Bitmap.createBitmap(size, size, Bitmap.Config.ARGB_8888));
+
+        mViews = null;
+        long before = getUsedMemory();
+
+        mViews = new CircularSeekBar[VIEWS];
+
+        for (int i = 0; i < VIEWS; i++) {
+            mViews[i] = new CircularSeekBar(context);
+
+            if (!shared) {
+                mViews[i].setThumbDrawable(createLayeredThumb((int) (density + 0.5)));
+            }
+
+            // Render the thumb
+            Drawable drawable = mViews[i].getThumbDrawable();
+            drawable.setBounds(0, 0, size, size);
+            drawable.draw(canvas);
+        }
+
+        long retained = (getUsedMemory() - before) / VIEWS;
+        mViews = null;
+
+        return retained;
+    }
+
+    /**
+     * Create the thumb drawable that was used before the drawables were shared. There is a shape
+     * for each layer of lighting.
+     *
+     * @param px Pixel resolution of one density pixel.
+     * @return The thumb drawable.
+     */
+    private static Drawable createLayeredThumb(int px) {
+        ShapeDrawable spacer = new ShapeDrawable(new OvalShape());
+        spacer.getPaint().setColor(0x00000000);
+        spacer.setPadding(px, px, px, 0);
+
+        ShapeDrawable ambient = new ShapeDrawable(new OvalShape());
+        ambient.getPaint().setColor(0x10000000);
+        ambient.setPadding(px, px, px, px);
+
+        ShapeDrawable key = new ShapeDrawable(new OvalShape());
+        key.getPaint().setColor(0x20000000);
+        key.setPadding(0, 0, 0, px);
+
+        ShapeDrawable thumb = new ShapeDrawable(new OvalShape());
+        thumb.getPaint().setColor(THUMB_COLOR);
+
+        return new LayerDrawable(new Drawable[]{spacer, ambient, key, thumb});
+    }
+
+    /**
+     * Find the used Java and native heap after a garbage collection. Bitmap pixels are held on the
+     * native heap from API 26.
+     *
+     * @return The used bytes.
+     */
+    private static long getUsedMemory() {
+        Runtime runtime = Runtime.getRuntime();
+
+        System.gc();
+        System.runFinalization();
+        System.gc();
+
+        return runtime.totalMemory() - runtime.freeMemory() + Debug.getNativeHeapAllocatedSize();
+    }
+}
@@ -0,0 +1,58 @@
+package com.unary.circularseekbar;
+
+import android.app.Instrumentation;
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.view.View;
+
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.platform.app.InstrumentationRegistry;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import static org.junit.Assert.*;
+
+/**
+ * Instrumented test for the cached sweep arc, which will execute on an Android device. Progress
+ * only changes should never rebuild the arc.
+ */
+@RunWith(AndroidJUnit4.class)
+public class SweepPathTest {
+
+    private static final int SIZE = 400; // px
+    private static final int FRAMES = 1000;
+
+    @Test
+    public void progressChanges_doNotRebuildSweepPath() {
+        final Instrumentation instrumentation = InstrumentationRegistry.getInstrumentation();
+
+        instrumentation.runOnMainSync(new Runnable() {
+            @Override
+            public void run() {
+                CircularSeekBar view = new CircularSeekBar(instrumentation.getTargetContext());
+                Canvas canvas = new Canvas(Bitmap.createBitmap(SIZE, SIZE, Bitmap.Config.ARGB_8888));
+                int spec = View.MeasureSpec.makeMeasureSpec(SIZE, View.MeasureSpec.EXACTLY);
+
+                view.setMax(FRAMES);
+                view.measure(spec, spec);
+                view.layout(0, 0, SIZE, SIZE);
+                view.draw(canvas);
+
+                int count = view.getSweepPathCount();
+
+                for (int i = 1; i <= FRAMES; i++) {
+                    view.setProgress(i);
+                    view.draw(canvas);
+                }
+
+                assertEquals(count, view.getSweepPathCount());
+
+                view.setStartAngle(120);
+                view.draw(canvas);
+
+                assertEquals(count + 1, view.getSweepPathCount());
+            }
+        });
+    }
+}
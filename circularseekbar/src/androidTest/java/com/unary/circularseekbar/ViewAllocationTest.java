@@ -0,0 +1,166 @@
+package com.unary.circularseekbar;
+
+import android.app.Instrumentation;
+import android.content.Context;
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.graphics.Rect;
+import android.os.Debug;
+import android.os.SystemClock;
+import android.view.MotionEvent;
+import android.view.View;
+import android.widget.FrameLayout;
+
+import androidx.annotation.NonNull;
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.platform.app.InstrumentationRegistry;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.concurrent.Executor;
+
+import static org.junit.Assert.*;
+
+/**
+ * Instrumented test for allocations in the view, which will execute on an Android device. Touch
+ * events, setProgress() and onDraw() are run with metrics, both listeners, an executor and a
+ * subscriber set, so the trace sections, snapshot and dispatch paths are all counted. The view is
+ * not attached to a window, so listener updates are dispatched without waiting for a frame.
+ */
+@RunWith(AndroidJUnit4.class)
+public class ViewAllocationTest {
+
+    private static final int SIZE = 400; // px
+    private static final int DRAGS = 10000;
+    private static final int MAX = 100;
+
+    private static final Executor DIRECT_EXECUTOR = new Executor() {
+        @Override
+        public void execute(@NonNull Runnable command) {
+            command.run();
+        }
+    };
+
+    private final CircularSeekBar.Snapshot mSnapshot = new CircularSeekBar.Snapshot();
+    private long mSink;
+
+    @Test
+    public void drags_doNotAllocate() {
+        final Instrumentation instrumentation = InstrumentationRegistry.getInstrumentation();
+        final int[] allocations = new int[1];
+
+        instrumentation.runOnMainSync(new Runnable() {
+            @Override
+            @SuppressWarnings("deprecation")
+            public void run() {
+                CircularSeekBar view = createView(instrumentation.getTargetContext());
+                Canvas canvas = new Canvas(Bitmap.createBitmap(SIZE, SIZE, Bitmap.Config.ARGB_8888));
+                long now = SystemClock.uptimeMillis();
+                MotionEvent event = MotionEvent.obtain(now, now, MotionEvent.ACTION_DOWN, 0, 0, 0);
+
+                // Warm up any lazy state
+                drag(view, canvas, event);
+
+                Debug.startAllocCounting();
+                Debug.resetThreadAllocCount();
+
+                drag(view, canvas, event);
+
+                allocations[0] = Debug.getThreadAllocCount();
+                Debug.stopAllocCounting();
+
+                event.recycle();
+            }
+        });
+
+        assertEquals(0, allocations[0]);
+    }
+
+    /**
+     * Create a view with every listener path set. The ripple is removed, as it allocates its own
+     * animations when pressed.
+     *
+     * @param context Context given for the view.
+     * @return The laid out view.
+     */
+    private CircularSeekBar createView(Context context) {
+        CircularSeekBar view = new CircularSeekBar(context);
+        int spec = View.MeasureSpec.makeMeasureSpec(SIZE, View.MeasureSpec.EXACTLY);
+
+        view.setBackground(null);
+        view.setMax(MAX);
+        view.setMetrics(new PerformanceMetrics());
+
+        view.setOnProgressChangeListener(new CircularSeekBar.OnProgressChangeListener() {
+            @Override
+            public boolean onProgressChanging(@NonNull CircularSeekBar seekBar, int progress) {
+                return true;
+            }
+
+            @Override
+            public void onProgressChanged(@NonNull CircularSeekBar seekBar, int progress, boolean finished) {
+                mSink += progress;
+            }
+        }, DIRECT_EXECUTOR);
+
+        view.setOnLongProgressChangeListener(new CircularSeekBar.OnLongProgressChangeListener() {
+            @Override
+            public boolean onProgressChanging(@NonNull CircularSeekBar seekBar, long progress) {
+                return true;
+            }
+
+            @Override
+            public void onProgressChanged(@NonNull CircularSeekBar seekBar, long progress, boolean finished) {
+                mSink += progress;
+            }
+        });
+
+        view.getProgressPublisher().subscribe(new ProgressPublisher.Subscriber() {
+            @Override
+            public void onSubscribe(@NonNull ProgressPublisher.Subscription subscription) {
+                subscription.request(Long.MAX_VALUE);
+            }
+
+            @Override
+            public void onNext(@NonNull CircularSeekBar seekBar, long progress, int event) {
+                mSink += progress;
+            }
+        });
+
+        // Touch events need a parent
+        new FrameLayout(context).addView(view);
+
+        view.measure(spec, spec);
+        view.layout(0, 0, SIZE, SIZE);
+
+        return view;
+    }
+
+    /**
+     * Move the progress, then press, drag and release the thumb where it is drawn.
+     *
+     * @param view   The view.
+     * @param canvas Canvas to draw to.
+     * @param event  Reused touch event.
+     */
+    private void drag(CircularSeekBar view, Canvas canvas, MotionEvent event) {
+        Rect bounds = view.getThumbDrawable().getBounds();
+
+        for (int i = 0; i < DRAGS; i++) {
+            view.setProgress(i % MAX);
+            view.draw(canvas);
+
+            event.setLocation(bounds.exactCenterX(), bounds.exactCenterY());
+            event.setAction(MotionEvent.ACTION_DOWN);
+            view.onTouchEvent(event);
+            event.setAction(MotionEvent.ACTION_MOVE);
+            view.onTouchEvent(event);
+            event.setAction(MotionEvent.ACTION_UP);
+            view.onTouchEvent(event);
+
+            view.draw(canvas);
+            mSink += view.readSnapshot(mSnapshot).getProgress();
+        }
+    }
+}
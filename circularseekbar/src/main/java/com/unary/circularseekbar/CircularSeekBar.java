@@ -18,26 +18,35 @@ package com.unary.circularseekbar;
 import android.annotation.SuppressLint;
 import android.content.Context;
 import android.content.res.ColorStateList;
+import android.content.res.Configuration;
+import android.content.res.Resources;
 import android.content.res.TypedArray;
+import android.graphics.Bitmap;
 import android.graphics.Canvas;
+import android.graphics.Matrix;
 import android.graphics.Paint;
 import android.graphics.Path;
 import android.graphics.Point;
+import android.graphics.PointF;
+import android.graphics.Rect;
 import android.graphics.RectF;
+import android.graphics.SweepGradient;
 import android.graphics.drawable.Drawable;
-import android.graphics.drawable.LayerDrawable;
 import android.graphics.drawable.RippleDrawable;
-import android.graphics.drawable.ShapeDrawable;
-import android.graphics.drawable.shapes.OvalShape;
 import android.os.Build;
 import android.os.Parcel;
 import android.os.Parcelable;
+import android.os.SystemClock;
 import android.util.AttributeSet;
+import android.util.SparseArray;
+import android.util.SparseIntArray;
 import android.util.TypedValue;
+import android.view.Choreographer;
 import android.view.MotionEvent;
 import android.view.View;
-import android.widget.Scroller;
+import android.view.animation.AnimationUtils;
 
+import androidx.annotation.ArrayRes;
 import androidx.annotation.AttrRes;
 import androidx.annotation.CallSuper;
 import androidx.annotation.ColorInt;
@@ -47,9 +56,18 @@ import androidx.annotation.IntDef;
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
 import androidx.annotation.RequiresApi;
+import androidx.annotation.VisibleForTesting;
+import androidx.tracing.Trace;
+
+import com.unary.circularseekbar.core.AngleEngine;
+import com.unary.circularseekbar.core.ArcGeometry;
+import com.unary.circularseekbar.core.ArcKey;
+import com.unary.circularseekbar.core.TrigTable;
 
 import java.lang.annotation.Retention;
 import java.lang.annotation.RetentionPolicy;
+import java.util.WeakHashMap;
+import java.util.concurrent.Executor;
 
 /**
  * A styleable circular SeekBar widget. The user can initiate changes to the progress level by
@@ -58,18 +76,28 @@ import java.lang.annotation.RetentionPolicy;
  * <p><strong>XML attributes</strong></p>
  * <p>The following optional attributes can be used to change the look and feel of the view:</p>
  * <pre>
+ *   app:dirtyRegion="boolean"           // Invalidate only the changed thumb and arc bounds
+ *   app:listenerCoalesced="boolean"     // Deliver onProgressChanged once per frame
  *   app:max="integer"                   // Default value of 100
  *   app:min="integer"                   // Should not be less than 0
  *   app:progress="integer"              // Default of 0 and must be within the min/max range
  *   app:progressColor="reference|color" // Reference to a color selector or simple color
+ *   app:progressGradient="reference"    // Reference to an array of gradient colors
+ *   app:renderNodeEnabled="boolean"     // Keep the track and thumb in RenderNodes (API 29)
  *   app:scrollMode="drift|gravity|snap" // Default mode is "drift"
+ *   app:showTicks="boolean"             // Draw tick marks for the progress steps
  *   app:startAngle="float"              // Starting angle, relative to 90 degrees clockwise
  *   app:strokeWidth="dimension"         // Thickness of the arc. Default is "14dp"
  *   app:sweepAngle="float"              // Arc sweep angle, clockwise from the starting angle
  *   app:sweepColor="color"              // Color used to draw the arc
+ *   app:thumbCount="integer"            // Number of thumbs. Default is 1
  *   app:thumbDrawable="reference"       // Reference to a drawable
  *   app:thumbRadius="dimension"         // Radius of the drawable. Default is "12dp"
+ *   app:tickColor="color"               // Color used to draw the tick marks
+ *   app:touchBatched="boolean"          // Resolve touch moves once per frame
  *   app:touchInside="boolean"           // Respond to touch inside the ellipse
+ *   app:trackCached="boolean"           // Draw the sweep arc from an off-screen bitmap
+ *   app:trigMode="exact|table"          // Default mode is "exact"
  *
  *   android:enabled="boolean"           // Changes the view state and progress color
  * </pre>
@@ -85,17 +113,38 @@ public class CircularSeekBar extends View {
     private static final int SWEEP_COLOR = R.attr.colorControlHighlight;
     private static final int PROGRESS_COLOR = R.attr.colorControlHighlight;
     private static final int ACTIVATED_COLOR = R.attr.colorControlActivated;
+    private static final int TICK_COLOR = R.attr.colorControlNormal;
+    private static final float TICK_WIDTH = 2; // dp
+    private static final float TICK_SPACING = 8; // dp
+    private static final boolean SHOW_TICKS = false;
     private static final int THUMB_COLOR = 0xFFECECEC;
     private static final int RIPPLE_COLOR = R.attr.colorControlHighlight;
     private static final float THUMB_RADIUS = 12; // dp
+    private static final int THUMB_COUNT = 1;
+    private static final boolean DIRTY_REGION = false;
+    private static final boolean LISTENER_COALESCED = false;
+    private static final boolean RENDER_NODE_ENABLED = false;
     @ScrollMode
     private static final int SCROLL_MODE = ScrollMode.DRIFT;
     private static final boolean TOUCH_INSIDE = true;
+    private static final boolean TOUCH_BATCHED = false;
+    private static final boolean TRACK_CACHED = false;
+    @TrigMode
+    private static final int TRIG_MODE = TrigMode.EXACT;
     private static final int MIN = 0;
     private static final int MAX = 100;
     private static final int PROGRESS = 0;
-    private static final float MULTIPLIER = 100;
     private static final int MAX_LEVEL = 10000;
+    private static final SparseArray<Drawable.ConstantState> THUMB_STATES = new SparseArray<>();
+    private static final WeakHashMap<Resources.Theme, SparseIntArray> ATTR_COLORS = new WeakHashMap<>();
+    private static final TypedValue TYPED_VALUE = new TypedValue();
+    private static final SnapshotState.Reader<Snapshot> SNAPSHOT_READER = new SnapshotState.Reader<Snapshot>() {
+        @Override
+        public void onRead(@NonNull Snapshot snapshot, long progress, double angle, boolean pressed, boolean finished) {
+            snapshot.set(progress, angle, pressed, finished);
+        }
+    };
+    private static volatile PerformanceMetrics sGlobalMetrics;
 
     private float mStartAngle;
     private float mStrokeWidth;
@@ -103,25 +152,88 @@ public class CircularSeekBar extends View {
     private float mSweepAngle;
     private int mSweepColor;
     private Path mSweepPath;
+    private ArcKey mSweepKey;
+    private int mSweepPathCount;
     private Paint mSweepPaint;
+    private boolean mShowTicks;
+    private int mTickColor;
+    private Paint mTickPaint;
+    private float[] mTickPoints;
+    private int mTickCount;
+    private long mTickRange = -1;
+    private float mTickStroke;
+    private int mTickWidth;
+    private int mTickSpacing;
+    private boolean mTrackCached;
+    private boolean mTrackDirty;
+    private Bitmap mTrackBitmap;
+    private Canvas mTrackCanvas;
+    private int mTrackLeft;
+    private int mTrackTop;
+    private boolean mRenderNodeEnabled;
+    private RenderNodeLayer mRenderNodeLayer;
     private ColorStateList mProgressColor;
     private Path mProgressPath;
     private Paint mProgressPaint;
+    private int[] mProgressGradient;
+    private SweepGradient mGradientShader;
+    private float mGradientSweep;
+    private float mGradientOffset;
+    private Matrix mGradientMatrix;
     private Drawable mThumbDrawable;
     private float mThumbRadius;
     private float mTouchRadius;
+    private int mThumbCount;
+    private double[] mThumbAngles;
+    private long[] mThumbProgress;
+    private int mActiveThumb;
     @ScrollMode
     private int mScrollMode;
     private boolean mTouchInside;
-    private int mMin;
-    private int mMax;
-    private int mProgress;
-    private Scroller mScroller;
+    private boolean mTouchBatched;
+    private boolean mTouchPending;
+    private boolean mTouchPosted;
+    private float mTouchAngle;
+    private Runnable mTouchRunnable;
+    @TrigMode
+    private int mTrigMode;
+    private TrigTable mTrigTable;
+    private long mMin;
+    private long mMax;
+    private long mProgress;
+    private AngleEngine mAngleEngine;
+    private Choreographer.FrameCallback mFrameCallback;
+    private boolean mFramePosted;
+    private boolean mAttached;
     private Point mThumbOrb;
     private Point mStartOrb;
     private Point mEndOrb;
-    private int mLastUpdate;
+    private boolean mDirtyRegion;
+    private Rect mDirtyRect;
+    private Point mDirtyPoint;
+    private float mDrawnAngle;
+    private long mLastUpdate;
+    private PerformanceMetrics mMetrics;
+    private LatencyHistogram mLatencyHistogram;
+    private boolean mLatencyPending;
+    private long mLatencyEventTime;
+    private int mMinWidth;
+    private int mMinHeight;
+    private SnapshotState mSnapshotState;
     private OnProgressChangeListener mOnProgressChangeListener;
+    private ExecutorDispatcher mExecutorDispatcher;
+    private ProgressPublisher mProgressPublisher;
+    private OnLongProgressChangeListener mOnLongProgressChangeListener;
+    private boolean mListenerCoalesced;
+    private Choreographer.FrameCallback mDispatchCallback;
+    private boolean mDispatchPosted;
+    private boolean mDispatchPending;
+    private long mDispatchProgress;
+    private boolean mDispatchFinished;
+    private int mDispatchConflated;
+    private int mConflatedCount;
+    private int mBatchDepth;
+    private boolean mUpdatePending;
 
     /**
      * Annotation for the ScrollMode typedef. The enumeration values are shared with a styleable XML
@@ -144,6 +256,23 @@ public class CircularSeekBar extends View {
         int SNAP = 2;
     }
 
+    /**
+     * Annotation for the TrigMode typedef. The enumeration values are shared with a styleable XML
+     * attribute of the same name.
+     */
+    @Retention(RetentionPolicy.SOURCE)
+    @IntDef({TrigMode.EXACT, TrigMode.TABLE})
+    public @interface TrigMode {
+        /**
+         * Double precision trigonometry.
+         */
+        int EXACT = 0;
+        /**
+         * Lookup table and approximated trigonometry.
+         */
+        int TABLE = 1;
+    }
+
     /**
      * Interface to notify the client of any progress changes. This only reflects touch initiated
      * updates and not client changes.
@@ -171,6 +300,33 @@ public class CircularSeekBar extends View {
         void onProgressChanged(@NonNull CircularSeekBar seekBar, int progress, boolean finished);
     }
 
+    /**
+     * Interface to notify the client of any progress changes with the full long range. This only
+     * reflects touch initiated updates and not client changes.
+     */
+    public interface OnLongProgressChangeListener {
+
+        /**
+         * Notification that the progress level is changing. The client has an opportunity to
+         * approve or disapprove of the update.
+         *
+         * @param seekBar  SeekBar object that initiated the change.
+         * @param progress The updated progress. This will be within the set min and max levels.
+         * @return True if the client accepts the change.
+         */
+        boolean onProgressChanging(@NonNull CircularSeekBar seekBar, long progress);
+
+        /**
+         * Notification that the progress level has changed. The client can use this to update a
+         * setting or preference.
+         *
+         * @param seekBar  SeekBar object that initiated the change.
+         * @param progress The updated progress. This will be within the set min and max levels.
+         * @param finished True if the touch event has ended.
+         */
+        void onProgressChanged(@NonNull CircularSeekBar seekBar, long progress, boolean finished);
+    }
+
     /**
      * Simple constructor to use when creating the view from code.
      *
@@ -236,11 +392,21 @@ public class CircularSeekBar extends View {
             mSweepAngle = typedArray.getFloat(R.styleable.CircularSeekBar_sweepAngle, SWEEP_ANGLE);
             mStrokeWidth = typedArray.getDimension(R.styleable.CircularSeekBar_strokeWidth, dpToPixels(context, STROKE_WIDTH));
             mSweepColor = typedArray.getColor(R.styleable.CircularSeekBar_sweepColor, getAttrColor(context, SWEEP_COLOR));
+            mShowTicks = typedArray.getBoolean(R.styleable.CircularSeekBar_showTicks, SHOW_TICKS);
+            mTickColor = typedArray.getColor(R.styleable.CircularSeekBar_tickColor, getAttrColor(context, TICK_COLOR));
             mProgressColor = typedArray.getColorStateList(R.styleable.CircularSeekBar_progressColor);
+            mProgressGradient = getColorArray(context, typedArray.getResourceId(R.styleable.CircularSeekBar_progressGradient, 0));
             mThumbDrawable = typedArray.getDrawable(R.styleable.CircularSeekBar_thumbDrawable);
             mThumbRadius = typedArray.getDimension(R.styleable.CircularSeekBar_thumbRadius, dpToPixels(context, THUMB_RADIUS));
+            mThumbCount = typedArray.getInt(R.styleable.CircularSeekBar_thumbCount, THUMB_COUNT);
             mScrollMode = typedArray.getInt(R.styleable.CircularSeekBar_scrollMode, SCROLL_MODE);
             mTouchInside = typedArray.getBoolean(R.styleable.CircularSeekBar_touchInside, TOUCH_INSIDE);
+            mTouchBatched = typedArray.getBoolean(R.styleable.CircularSeekBar_touchBatched, TOUCH_BATCHED);
+            mTrackCached = typedArray.getBoolean(R.styleable.CircularSeekBar_trackCached, TRACK_CACHED);
+            mTrigMode = typedArray.getInt(R.styleable.CircularSeekBar_trigMode, TRIG_MODE);
+            mDirtyRegion = typedArray.getBoolean(R.styleable.CircularSeekBar_dirtyRegion, DIRTY_REGION);
+            mListenerCoalesced = typedArray.getBoolean(R.styleable.CircularSeekBar_listenerCoalesced, LISTENER_COALESCED);
+            mRenderNodeEnabled = typedArray.getBoolean(R.styleable.CircularSeekBar_renderNodeEnabled, RENDER_NODE_ENABLED);
             mMin = typedArray.getInt(R.styleable.CircularSeekBar_min, MIN);
             mMax = typedArray.getInt(R.styleable.CircularSeekBar_max, MAX);
             mProgress = typedArray.getInt(R.styleable.CircularSeekBar_progress, PROGRESS);
@@ -260,7 +426,7 @@ public class CircularSeekBar extends View {
 
         // Create a default drawable
         if (mThumbDrawable == null) {
-            mThumbDrawable = createThumbDrawable(context);
+            mThumbDrawable = obtainThumbDrawable(context);
         }
 
         mThumbDrawable.setCallback(this);
@@ -278,12 +444,37 @@ public class CircularSeekBar extends View {
 
         mMin = mMin < 0 ? 0 : Math.min(mMin, mMax);
         mProgress = mProgress < mMin ? mMin : Math.min(mProgress, mMax);
-
-        mScroller = new Scroller(context);
-        mScroller.setFinalX((int) (getStepAngleFromStep(mProgress - mMin) * MULTIPLIER));
+        mThumbCount = Math.max(mThumbCount, 1);
+
+        updateDensityPixels(context);
+        resetThumbs();
+
+        mSnapshotState = new SnapshotState();
+        mLatencyHistogram = new LatencyHistogram();
+        mAngleEngine = new AngleEngine();
+        mAngleEngine.setFinalAngle(getStepAngleFromStep(mProgress - mMin));
+
+        // Animate ahead of the draw pass
+        mFrameCallback = new Choreographer.FrameCallback() {
+            @Override
+            public void doFrame(long frameTimeNanos) {
+                mFramePosted = false;
+                onAnimationFrame();
+            }
+        };
+
+        // Deliver coalesced progress
+        mDispatchCallback = new Choreographer.FrameCallback() {
+            @Override
+            public void doFrame(long frameTimeNanos) {
+                mDispatchPosted = false;
+                flushProgressChanged();
+            }
+        };
 
         // Initialize the drawing objects
         mDrawRectF = new RectF();
+        mSweepKey = new ArcKey();
         mSweepPath = new Path();
         mProgressPath = new Path();
 
@@ -292,25 +483,50 @@ public class CircularSeekBar extends View {
         mSweepPaint.setStrokeCap(Paint.Cap.ROUND);
         mSweepPaint.setStyle(Paint.Style.STROKE);
 
+        mGradientMatrix = new Matrix();
+
+        mTickPaint = new Paint();
+        mTickPaint.setAntiAlias(true);
+        mTickPaint.setStyle(Paint.Style.STROKE);
+
         mProgressPaint = new Paint();
         mProgressPaint.setAntiAlias(true);
         mProgressPaint.setStrokeCap(Paint.Cap.ROUND);
         mProgressPaint.setStyle(Paint.Style.STROKE);
 
+        // Separate the track and thumb
+        if (mRenderNodeEnabled && Build.VERSION.SDK_INT >= Build.VERSION_CODES.Q) {
+            mRenderNodeLayer = new RenderNodeLayer();
+        }
+
         // Create reusable point objects
         mThumbOrb = new Point();
         mStartOrb = new Point();
         mEndOrb = new Point();
+        mDirtyPoint = new Point();
+        mDirtyRect = new Rect();
+
+        // Apply batched touch moves
+        mTouchRunnable = new Runnable() {
+            @Override
+            public void run() {
+                mTouchPosted = false;
+                flushBatchScroll();
+            }
+        };
 
         // Updates refreshDrawableState()
         setEnabled(enabled);
+        publishSnapshot();
     }
 
     @Nullable
     @Override
     protected Parcelable onSaveInstanceState() {
         SavedState savedState = new SavedState(super.onSaveInstanceState());
-        savedState.progressAngle = mScroller.getFinalX() / MULTIPLIER;
+        savedState.progressAngle = mAngleEngine.getFinalAngle();
+        savedState.thumbProgress = mThumbProgress.clone();
+        savedState.activeThumb = mActiveThumb;
 
         return savedState;
     }
@@ -320,22 +536,32 @@ public class CircularSeekBar extends View {
         SavedState savedState = (SavedState) state;
         super.onRestoreInstanceState(savedState.getSuperState());
 
+        // Restore the other thumbs
+        if (savedState.thumbProgress != null && savedState.thumbProgress.length == mThumbCount) {
+            System.arraycopy(savedState.thumbProgress, 0, mThumbProgress, 0, mThumbCount);
+            mActiveThumb = savedState.activeThumb;
+        }
+
         // Use angle for ScrollMode.DRIFT
-        mProgress = getStepFromAngle(savedState.progressAngle);
+        mProgress = getStepFromAngle(savedState.progressAngle) + mMin;
+        mThumbProgress[mActiveThumb] = mProgress;
         mLastUpdate = mProgress;
-        mScroller.setFinalX((int) (savedState.progressAngle * MULTIPLIER));
+        mAngleEngine.setFinalAngle(savedState.progressAngle);
+        postAnimationFrame();
+        publishSnapshot();
+        updateDrawableState();
 
         onProgressChanged();
     }
 
     @Override
     protected int getSuggestedMinimumHeight() {
-        return Math.max(super.getSuggestedMinimumHeight(), dpToPixels(getContext(), VIEW_HEIGHT));
+        return Math.max(super.getSuggestedMinimumHeight(), mMinHeight);
     }
 
     @Override
     protected int getSuggestedMinimumWidth() {
-        return Math.max(super.getSuggestedMinimumWidth(), dpToPixels(getContext(), VIEW_WIDTH));
+        return Math.max(super.getSuggestedMinimumWidth(), mMinWidth);
     }
 
     @Override
@@ -349,7 +575,56 @@ public class CircularSeekBar extends View {
     @Override
     protected void onSizeChanged(int w, int h, int oldw, int oldh) {
         super.onSizeChanged(w, h, oldw, oldh);
-        onUpdateDrawableState();
+        updateDrawableState();
+    }
+
+    @Override
+    protected void onConfigurationChanged(Configuration newConfig) {
+        super.onConfigurationChanged(newConfig);
+
+        // Resolve the defaults again
+        synchronized (ATTR_COLORS) {
+            ATTR_COLORS.clear();
+        }
+
+        updateDensityPixels(getContext());
+        requestLayout();
+    }
+
+    @Override
+    protected void onAttachedToWindow() {
+        super.onAttachedToWindow();
+        mAttached = true;
+
+        // Resume a pending animation
+        if (!mAngleEngine.isFinished()) {
+            postAnimationFrame();
+        }
+    }
+
+    @Override
+    protected void onDetachedFromWindow() {
+        super.onDetachedFromWindow();
+        mAttached = false;
+
+        if (mFramePosted) {
+            mFramePosted = false;
+            Choreographer.getInstance().removeFrameCallback(mFrameCallback);
+        }
+
+        if (mDispatchPosted) {
+            mDispatchPosted = false;
+            Choreographer.getInstance().removeFrameCallback(mDispatchCallback);
+        }
+
+        flushProgressChanged();
+        cancelBatchScroll();
+        releaseTrackBitmap();
+        mLatencyPending = false;
+
+        if (mRenderNodeLayer != null && Build.VERSION.SDK_INT >= Build.VERSION_CODES.Q) {
+            mRenderNodeLayer.discard();
+        }
     }
 
     @Override
@@ -357,10 +632,29 @@ public class CircularSeekBar extends View {
         return who == mThumbDrawable || super.verifyDrawable(who);
     }
 
+    @Override
+    public void invalidateDrawable(@NonNull Drawable drawable) {
+        if (drawable == mThumbDrawable && mRenderNodeLayer != null && Build.VERSION.SDK_INT >= Build.VERSION_CODES.Q) {
+            mRenderNodeLayer.invalidateThumb();
+        }
+
+        super.invalidateDrawable(drawable);
+    }
+
     @Override
     protected void drawableStateChanged() {
         super.drawableStateChanged();
-        onUpdateDrawableState();
+        updateDrawableState();
+    }
+
+    @Override
+    public void setPressed(boolean pressed) {
+        super.setPressed(pressed);
+
+        // Null during super constructor
+        if (mSnapshotState != null) {
+            publishSnapshot();
+        }
     }
 
     @Override
@@ -386,602 +680,1520 @@ public class CircularSeekBar extends View {
     @Override
     public void setLayoutDirection(int layoutDirection) {
         super.setLayoutDirection(layoutDirection);
-        onUpdateDrawableState();
+        updateDrawableState();
     }
 
     @Override
     public void setPadding(int left, int top, int right, int bottom) {
         super.setPadding(left, top, right, bottom);
-        onUpdateDrawableState();
+        updateDrawableState();
     }
 
     @Override
     public void setPaddingRelative(int start, int top, int end, int bottom) {
         super.setPaddingRelative(start, top, end, bottom);
-        onUpdateDrawableState();
+        updateDrawableState();
     }
 
     @Override
     protected void onDraw(Canvas canvas) {
-        super.onDraw(canvas);
+        long start = beginSection(PerformanceMetrics.Section.DRAW);
 
-        // Get angle and scroll status
-        boolean scrolling = mScroller.computeScrollOffset();
-        float angle = mScroller.getCurrX() / MULTIPLIER;
+        try {
+            super.onDraw(canvas);
 
-        if (scrolling) {
-            mProgress = getStepFromAngle(angle) + mMin;
-            onProgressChanged();
-        }
+            // Angle as of the last frame
+            float angle = (float) mAngleEngine.getCurrAngle();
 
-        // (Re)draw the sweep arc
-        mSweepPath.reset();
-        mSweepPath.addArc(mDrawRectF, mStartAngle, mSweepAngle);
-        canvas.drawPath(mSweepPath, mSweepPaint);
+            // Thumb has reached the touch
+            if (mLatencyPending && mAngleEngine.isFinished()) {
+                mLatencyPending = false;
+                mLatencyHistogram.record(SystemClock.uptimeMillis() - mLatencyEventTime);
+            }
 
-        // (Re)draw the progress arc
-        mProgressPath.reset();
-        mProgressPath.addArc(mDrawRectF, mStartAngle, angle);
-        canvas.drawPath(mProgressPath, mProgressPaint);
+            boolean nodes = mRenderNodeLayer != null && canvas.isHardwareAccelerated();
 
-        getPoint(mThumbOrb, angle);
+            // Draw the sweep arc, its node or its bitmap
+            if (nodes && Build.VERSION.SDK_INT >= Build.VERSION_CODES.Q) {
+                if (mRenderNodeLayer.isTrackDirty(getWidth(), getHeight())) {
+                    drawTrack(mRenderNodeLayer.beginTrack(getWidth(), getHeight()));
+                    mRenderNodeLayer.endTrack();
+                }
 
-        // Downcast the floats here
-        int left = mThumbOrb.x - (int) mThumbRadius;
-        int top = mThumbOrb.y - (int) mThumbRadius;
-        int right = mThumbOrb.x + (int) mThumbRadius;
-        int bottom = mThumbOrb.y + (int) mThumbRadius;
+                mRenderNodeLayer.drawTrack(canvas);
+            } else if (mTrackCached && updateTrackBitmap()) {
+                canvas.drawBitmap(mTrackBitmap, mTrackLeft, mTrackTop, null);
+            } else {
+                drawTrack(canvas);
+            }
 
-        if (mThumbDrawable != null) {
-            // Ratio for MAX_LEVEL compatibility
-            int level = (int) (angle / mSweepAngle * MAX_LEVEL + 0.5);
+            // (Re)draw the progress arc
+            mProgressPath.reset();
 
-            mThumbDrawable.setLevel(level);
-            mThumbDrawable.setBounds(left, top, right, bottom);
-            mThumbDrawable.draw(canvas);
-        }
+            if (mThumbCount > 1) {
+                // Range between the outer thumbs
+                float firstAngle = (float) mThumbAngles[0];
+                mProgressPath.addArc(mDrawRectF, mStartAngle + firstAngle, (float) mThumbAngles[mThumbCount - 1] - firstAngle);
+            } else {
+                mProgressPath.addArc(mDrawRectF, mStartAngle, angle);
+            }
 
-        if (getBackground() != null) {
-            if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.LOLLIPOP) {
-                getBackground().setHotspotBounds(left, top, right, bottom);
+            canvas.drawPath(mProgressPath, mProgressPaint);
+
+            // Inactive thumbs go beneath
+            for (int i = 0; i < mThumbCount; i++) {
+                if (i != mActiveThumb) {
+                    drawThumb(canvas, (float) mThumbAngles[i], false);
+                }
             }
-        }
 
-        if (scrolling) {
-            invalidate();
-        }
-    }
+            drawThumb(canvas, angle, nodes && mThumbCount == 1);
+            mDrawnAngle = angle;
 
-    @SuppressLint("ClickableViewAccessibility")
-    @Override
-    public boolean onTouchEvent(MotionEvent event) {
-        super.onTouchEvent(event);
-
-        float x = event.getX();
-        float y = event.getY();
-
-        switch (event.getAction()) {
-            case MotionEvent.ACTION_DOWN:
-                if (!isEnabled()) return false;
-                boolean state = startScroll(x, y);
-                drawableHotspotChanged(x, y);
-                getParent().requestDisallowInterceptTouchEvent(state);
-                setPressed(state);
-                return state;
-            case MotionEvent.ACTION_UP:
-            case MotionEvent.ACTION_CANCEL:
-                getParent().requestDisallowInterceptTouchEvent(false);
-                setPressed(false);
-                finishScroll();
-                return true;
-            case MotionEvent.ACTION_MOVE:
-                updateScroll(x, y);
-                drawableHotspotChanged(x, y);
-                return true;
-            default:
-                return false;
+            // Downcast the floats here
+            int left = mThumbOrb.x - (int) mThumbRadius;
+            int top = mThumbOrb.y - (int) mThumbRadius;
+            int right = mThumbOrb.x + (int) mThumbRadius;
+            int bottom = mThumbOrb.y + (int) mThumbRadius;
+
+            if (getBackground() != null) {
+                if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.LOLLIPOP) {
+                    getBackground().setHotspotBounds(left, top, right, bottom);
+                }
+            }
+        } finally {
+            endSection(PerformanceMetrics.Section.DRAW, start);
         }
     }
 
     /**
-     * Shared method to update the parameters and drawing objects before invalidating the view.
-     * Overriding classes should call super.
+     * Draw the thumb drawable at an angle. The thumb point is left in mThumbOrb, so the active thumb
+     * must be drawn last.
+     *
+     * @param canvas Canvas to draw on.
+     * @param angle  The thumb angle.
+     * @param node   True if the thumb should be drawn through its RenderNode.
      */
-    @CallSuper
-    protected void onUpdateDrawableState() {
-        mTouchRadius = Math.max(mThumbRadius, mStrokeWidth / 2);
-
-        float paddingStart = getPaddingLeft();
-        float paddingEnd = getPaddingRight();
+    private void drawThumb(Canvas canvas, float angle, boolean node) {
+        getPoint(mThumbOrb, angle);
 
-        // Use RTL if available
-        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.JELLY_BEAN_MR1) {
-            paddingStart = getPaddingStart();
-            paddingEnd = getPaddingEnd();
+        if (mThumbDrawable == null) {
+            return;
         }
 
-        // Calculate the drawing space
-        float left = mTouchRadius + paddingStart;
-        float top = mTouchRadius + getPaddingTop();
-        float right = getWidth() - mTouchRadius - paddingEnd;
-        float bottom = getHeight() - mTouchRadius - getPaddingBottom();
-
-        mDrawRectF.set(left, top, right, bottom);
-
-        // Update sweep paint
-        mSweepPaint.setColor(mSweepColor);
-        mSweepPaint.setStrokeWidth(mStrokeWidth);
-
-        int statefulColor = mProgressColor.getColorForState(getDrawableState(), mProgressColor.getDefaultColor());
-
-        // Update progress paint
-        mProgressPaint.setColor(statefulColor);
-        mProgressPaint.setStrokeWidth(mStrokeWidth);
+        // Downcast the floats here
+        int left = mThumbOrb.x - (int) mThumbRadius;
+        int top = mThumbOrb.y - (int) mThumbRadius;
+        int right = mThumbOrb.x + (int) mThumbRadius;
+        int bottom = mThumbOrb.y + (int) mThumbRadius;
 
-        // Update the drawable state
-        if (mThumbDrawable != null) {
-            if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.M) {
-                mThumbDrawable.setLayoutDirection(getLayoutDirection());
-            }
+        // Ratio for MAX_LEVEL compatibility
+        int level = (int) (angle / mSweepAngle * MAX_LEVEL + 0.5);
 
-            mThumbDrawable.setState(getDrawableState());
+        if (mThumbDrawable.setLevel(level) && mRenderNodeLayer != null && Build.VERSION.SDK_INT >= Build.VERSION_CODES.Q) {
+            mRenderNodeLayer.invalidateThumb();
         }
 
-        // Adjust background drawable
-        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.M) {
-            if (getBackground() instanceof RippleDrawable) {
-                ((RippleDrawable) getBackground()).setRadius((int) mThumbRadius * 2);
-            }
+        // Only move the node if possible
+        if (node && Build.VERSION.SDK_INT >= Build.VERSION_CODES.Q) {
+            mRenderNodeLayer.drawThumb(canvas, mThumbDrawable, left, top, right, bottom);
+        } else {
+            mThumbDrawable.setBounds(left, top, right, bottom);
+            mThumbDrawable.draw(canvas);
         }
-
-        // Reuse the point objects
-        getPoint(mStartOrb, 0);
-        getPoint(mEndOrb, mSweepAngle);
-
-        invalidate();
     }
 
-    /**
-     * Check to see if a given point is within the ellipse. If touchInside is false it will use the
-     * greater of thumbRadius or half the strokeWidth to section out the core.
-     *
-     * @param x The X axis.
-     * @param y The Y axis.
-     * @return True if it is within the orbit.
-     */
-    public boolean isInsideOrbit(float x, float y) {
-        float paddingStart = Build.VERSION.SDK_INT >= Build.VERSION_CODES.JELLY_BEAN_MR1 ? getPaddingStart() : getPaddingLeft();
-
-        // Calculate ellipse parameters
-        float axisX = x - mDrawRectF.centerX();
-        float axisY = y - mDrawRectF.centerY();
-        float a = mDrawRectF.centerX() - paddingStart;
-        float b = mDrawRectF.centerY() - getPaddingTop();
+    @SuppressLint("ClickableViewAccessibility")
+    @Override
+    public boolean onTouchEvent(MotionEvent event) {
+        long start = beginSection(PerformanceMetrics.Section.TOUCH);
 
-        // Check if inside bounds
-        boolean outer = isInsideEllipse(axisX, axisY, a, b);
-        boolean inner = isInsideEllipse(axisX, axisY, a - mTouchRadius * 2, b - mTouchRadius * 2);
+        try {
+            super.onTouchEvent(event);
+
+            float x = event.getX();
+            float y = event.getY();
+
+            switch (event.getAction()) {
+                case MotionEvent.ACTION_DOWN:
+                    if (!isEnabled()) return false;
+                    boolean state = startScroll(x, y);
+                    drawableHotspotChanged(x, y);
+                    getParent().requestDisallowInterceptTouchEvent(state);
+                    setPressed(state);
+                    updateLatency(event);
+                    return state;
+                case MotionEvent.ACTION_UP:
+                case MotionEvent.ACTION_CANCEL:
+                    flushBatchScroll();
+                    getParent().requestDisallowInterceptTouchEvent(false);
+                    setPressed(false);
+                    finishScroll();
+                    return true;
+                case MotionEvent.ACTION_MOVE:
+                    if (mTouchBatched) {
+                        batchScroll(event);
+                    } else {
+                        updateScroll(x, y);
+                    }
 
-        return outer && !(inner && !mTouchInside);
+                    drawableHotspotChanged(x, y);
+                    updateLatency(event);
+                    return true;
+                default:
+                    return false;
+            }
+        } finally {
+            endSection(PerformanceMetrics.Section.TOUCH, start);
+        }
     }
 
     /**
-     * Find the angle of a point from the center of the ellipse. This is relative to the startAngle.
+     * Keep the time of a touch event that moves the thumb. The latency is recorded by the onDraw()
+     * that renders the thumb at its final angle, so a newer event replaces an older one.
      *
-     * @param x The X axis.
-     * @param y The Y axis.
-     * @return Angle from the ellipse.
+     * @param event The touch event.
      */
-    public float getAngle(float x, float y) {
-        float axisX = x - mDrawRectF.centerX();
-        float axisY = y - mDrawRectF.centerY();
-
-        // t = atan2(cx - x / cy - y) * 180 / PI
-        double angle = Math.toDegrees(Math.atan2(axisY, axisX)) - mStartAngle;
-        return (float) (360 + angle % 360) % 360;
+    private void updateLatency(MotionEvent event) {
+        if (mTouchPending || !mAngleEngine.isFinished()) {
+            mLatencyPending = true;
+            mLatencyEventTime = event.getEventTime();
+        }
     }
 
     /**
-     * Find the point of an angle from the center of the ellipse. This is on the ellipse line.
+     * Start a trace section and find its start time. The time is only read if metrics are set.
      *
-     * @param angle The given angle.
-     * @return A point on the ellipse.
+     * @param section The measured section.
+     * @return Start time in nanoseconds, or 0.
      */
-    public Point getPoint(float angle) {
-        return getPoint(new Point(), angle);
+    private long beginSection(@PerformanceMetrics.Section int section) {
+        Trace.beginSection(PerformanceMetrics.getSectionName(section));
+        return mMetrics != null || sGlobalMetrics != null ? System.nanoTime() : 0;
     }
 
     /**
-     * Find the point of an angle from the center of the ellipse. This is on the ellipse line.
+     * End a trace section and record it to the instance metrics, or the global metrics if there
+     * are none.
      *
-     * @param point Point object to set.
-     * @param angle The given angle.
-     * @return A point on the ellipse.
+     * @param section The measured section.
+     * @param start   Start time from beginSection().
      */
-    private Point getPoint(Point point, float angle) {
-        // x = a cos(t), y = b sin(t)
-        double axisX = mDrawRectF.width() / 2 * Math.cos(Math.toRadians(angle + mStartAngle)) + mDrawRectF.centerX();
-        double axisY = mDrawRectF.height() / 2 * Math.sin(Math.toRadians(angle + mStartAngle)) + mDrawRectF.centerY();
+    private void endSection(@PerformanceMetrics.Section int section, long start) {
+        Trace.endSection();
 
-        point.set((int) (axisX + 0.5), (int) (axisY + 0.5));
-        return point;
+        PerformanceMetrics metrics = mMetrics != null ? mMetrics : sGlobalMetrics;
+
+        if (metrics != null && start != 0) {
+            metrics.record(section, System.nanoTime() - start);
+        }
     }
 
     /**
-     * Find if a given point is inside an ellipse. This is relative to the given axis.
-     *
-     * @param x The X axis.
-     * @param y The Y axis.
-     * @param a Semi-major axis.
-     * @param b Semi-minor axis.
-     * @return True if it is inside the ellipse.
+     * Post a Choreographer frame to advance the angle engine. Nothing is posted until the view is
+     * attached, where any pending animation is resumed.
      */
-    private boolean isInsideEllipse(float x, float y, float a, float b) {
-        // 1 = (x^2 / a^2) + (y^2 / b^2)
-        return 1 >= (x * x) / (a * a) + (y * y) / (b * b);
+    private void postAnimationFrame() {
+        if (mAttached && !mFramePosted) {
+            mFramePosted = true;
+            Choreographer.getInstance().postFrameCallback(mFrameCallback);
+        }
     }
 
     /**
-     * Find the progress step of an angle. This is based on the sweepAngle.
-     *
-     * @param angle The given angle.
-     * @return Progress step.
+     * Advance the angle engine for a new frame. The progress and onChanged listener are updated
+     * here, before the draw pass, and another frame is posted until the animation has finished.
      */
-    private int getStepFromAngle(float angle) {
-        float steps = mMax - mMin;
-        float rise = mSweepAngle / steps;
+    private void onAnimationFrame() {
+        long start = beginSection(PerformanceMetrics.Section.FRAME);
+
+        try {
+            float angle = mDrawnAngle;
+
+            if (mAngleEngine.computeAngleOffset(AnimationUtils.currentAnimationTimeMillis())) {
+                mProgress = getStepFromAngle(mAngleEngine.getCurrAngle()) + mMin;
+                mThumbProgress[mActiveThumb] = mProgress;
+                mThumbAngles[mActiveThumb] = mAngleEngine.getCurrAngle();
+                publishSnapshot();
+                onProgressChanged();
+
+                invalidateArc(angle, (float) mAngleEngine.getCurrAngle());
+            }
 
-        // Downcast the float here
-        return (int) (((angle + (rise / 2)) / rise) % (steps + 1));
+            if (!mAngleEngine.isFinished()) {
+                postAnimationFrame();
+            }
+        } finally {
+            endSection(PerformanceMetrics.Section.FRAME, start);
+        }
     }
 
     /**
-     * Find the progress step angle of an angle. This is based on the sweepAngle.
-     *
-     * @param angle The given angle.
-     * @return Progress step angle.
+     * Request an onUpdateDrawableState() pass. This is deferred until the outermost batch edit is
+     * applied, so that several property changes only update the drawing objects once.
      */
-    private float getStepAngleFromAngle(float angle) {
-        return mSweepAngle / (mMax - mMin) * getStepFromAngle(angle);
+    private void updateDrawableState() {
+        if (mBatchDepth > 0) {
+            mUpdatePending = true;
+            return;
+        }
+
+        mUpdatePending = false;
+        onUpdateDrawableState();
     }
 
     /**
-     * Find the progress step angle of a step. This is based on the sweepAngle.
-     *
-     * @param step Progress step.
-     * @return Progress step angle.
+     * Start a batch edit. Calls to onUpdateDrawableState() are deferred until the matching
+     * endBatchEdit().
      */
-    private float getStepAngleFromStep(int step) {
-        return mSweepAngle / (mMax - mMin) * step;
+    private void beginBatchEdit() {
+        mBatchDepth++;
     }
 
     /**
-     * Check to see if a scroll event should be initiated. If touchInside is false it will use the
-     * sweepAngle to section out the slice.
-     *
-     * @param x The X axis.
-     * @param y The Y axis.
-     * @return True if the event should be allowed.
+     * Finish a batch edit. A single onUpdateDrawableState() pass is run if any deferred changes are
+     * pending once the outermost edit is finished.
      */
-    private boolean startScroll(float x, float y) {
-        mLastUpdate = -1;
-
-        boolean start = isInsideEllipse(x - mStartOrb.x, y - mStartOrb.y, mTouchRadius, mTouchRadius);
-        boolean end = isInsideEllipse(x - mEndOrb.x, y - mEndOrb.y, mTouchRadius, mTouchRadius);
-
-        // Section out the arc orbit
-        if (isInsideOrbit(x, y) && (mTouchInside || (getAngle(x, y) < mSweepAngle + 1 || start || end))) {
-            return updateScroll(x, y);
+    private void endBatchEdit() {
+        if (--mBatchDepth == 0 && mUpdatePending) {
+            updateDrawableState();
         }
-
-        return false;
     }
 
     /**
-     * Process a scroll event to update the scroller. If the onChanging listener returns false the
-     * change is abandoned.
-     *
-     * @param x The X axis.
-     * @param y The Y axis.
-     * @return True if the scroller is updated.
+     * Shared method to update the parameters and drawing objects before invalidating the view.
+     * Overriding classes should call super.
      */
-    private boolean updateScroll(float x, float y) {
-        float angle = getAngle(x, y);
-        boolean thumb = isInsideEllipse(x - mThumbOrb.x, y - mThumbOrb.y, mTouchRadius, mTouchRadius);
+    @CallSuper
+    protected void onUpdateDrawableState() {
+        long start = beginSection(PerformanceMetrics.Section.UPDATE);
 
-        // Divide up the pie slice
-        if (angle > mSweepAngle && !thumb) {
-            angle = angle > 360 - ((360 - mSweepAngle) / 2) ? 0 : mSweepAngle;
-        }
+        try {
+            mTouchRadius = Math.max(mThumbRadius, mStrokeWidth / 2);
 
-        // Process the touch angle
-        if (angle < mSweepAngle + 1) {
-            if (mScroller.computeScrollOffset()) {
-                mScroller.forceFinished(true);
-            }
+            float paddingStart = getPaddingLeft();
+            float paddingEnd = getPaddingRight();
 
-            // Check the onChanging listener
-            if (onProgressChanging(getStepFromAngle(angle) + mMin)) {
-                switch (mScrollMode) {
-                    case ScrollMode.DRIFT:
-                        mScroller.startScroll(mScroller.getCurrX(), 0, (int) (angle * MULTIPLIER) - mScroller.getCurrX(), 0);
-                        break;
-                    case ScrollMode.GRAVITY:
-                        mScroller.startScroll(mScroller.getCurrX(), 0, (int) (getStepAngleFromAngle(angle) * MULTIPLIER) - mScroller.getCurrX(), 0);
-                        break;
-                    case ScrollMode.SNAP:
-                        mScroller.setFinalX((int) (getStepAngleFromAngle(angle) * MULTIPLIER));
-                        break;
-                }
+            // Use RTL if available
+            if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.JELLY_BEAN_MR1) {
+                paddingStart = getPaddingStart();
+                paddingEnd = getPaddingEnd();
             }
 
-            invalidate();
-            return true;
-        }
+            // Calculate the drawing space
+            float left = mTouchRadius + paddingStart;
+            float top = mTouchRadius + getPaddingTop();
+            float right = getWidth() - mTouchRadius - paddingEnd;
+            float bottom = getHeight() - mTouchRadius - getPaddingBottom();
 
-        // Update the onChanged listener
-        if (mScroller.isFinished()) {
-            mScroller.setFinalX(mScroller.getCurrX());
-        }
+            mDrawRectF.set(left, top, right, bottom);
 
-        return mTouchInside || thumb;
+            boolean geometry = mSweepKey.update(left, top, right, bottom, mStartAngle, mSweepAngle);
+
+            // Rebuild only on geometry changes
+            if (geometry) {
+                updateSweepPath();
+                invalidateTrack();
+            }
+
+            updateThumbAngles();
+
+            // Size the table to steps or pixels
+            if (mTrigMode == TrigMode.TABLE) {
+                long steps = mSweepAngle > 0 ? (long) ((mMax - mMin) * 360d / mSweepAngle) : 0;
+                long pixels = (long) (Math.PI * (mDrawRectF.width() + mDrawRectF.height()) / 2);
+
+                mTrigTable = TrigTable.obtain(Math.max(steps, pixels));
+            }
+
+            if (mSweepPaint.getColor() != mSweepColor || mSweepPaint.getStrokeWidth() != mStrokeWidth) {
+                invalidateTrack();
+            }
+
+            // Update sweep paint
+            mSweepPaint.setColor(mSweepColor);
+            mSweepPaint.setStrokeWidth(mStrokeWidth);
+
+            if (mShowTicks && (geometry || mTickRange != mMax - mMin || mTickStroke != mStrokeWidth)) {
+                updateTicks();
+                invalidateTrack();
+            }
+
+            if (mTickPaint.getColor() != mTickColor || mTickPaint.getStrokeWidth() != mTickWidth) {
+                invalidateTrack();
+            }
+
+            // Update tick paint
+            mTickPaint.setColor(mTickColor);
+            mTickPaint.setStrokeWidth(mTickWidth);
+
+            int statefulColor = mProgressColor.getColorForState(getDrawableState(), mProgressColor.getDefaultColor());
+
+            // Update progress paint
+            mProgressPaint.setColor(statefulColor);
+            mProgressPaint.setStrokeWidth(mStrokeWidth);
+            mProgressPaint.setShader(updateGradientShader());
+
+            // Update the drawable state
+            if (mThumbDrawable != null) {
+                if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.M) {
+                    mThumbDrawable.setLayoutDirection(getLayoutDirection());
+                }
+
+                mThumbDrawable.setState(getDrawableState());
+
+                if (mRenderNodeLayer != null && Build.VERSION.SDK_INT >= Build.VERSION_CODES.Q) {
+                    mRenderNodeLayer.invalidateThumb();
+                }
+            }
+
+            // Adjust background drawable
+            if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.M) {
+                if (getBackground() instanceof RippleDrawable) {
+                    RippleDrawable rippleDrawable = (RippleDrawable) getBackground();
+
+                    if (rippleDrawable.getRadius() != (int) mThumbRadius * 2) {
+                        rippleDrawable.setRadius((int) mThumbRadius * 2);
+                    }
+                }
+            }
+
+            // Reuse the point objects
+            getPoint(mStartOrb, 0);
+            getPoint(mEndOrb, mSweepAngle);
+
+            invalidate();
+        } finally {
+            endSection(PerformanceMetrics.Section.UPDATE, start);
+        }
     }
 
     /**
-     * Complete a scroll event by invalidating the view and updating the onChanged listener.
+     * Update the progress gradient. The shader is built around the origin and only rebuilt when the
+     * colors, sweepAngle or cap offset change, while the start angle and ellipse are applied by
+     * rotating and scaling the reused local matrix. Paint alpha still follows the progress color.
+     * The gradient is turned back by the width of the round cap, so the cap before the start keeps
+     * the first color instead of wrapping around to the last.
+     *
+     * @return The gradient shader, or null if the progress color is used.
      */
-    private void finishScroll() {
-        //mScroller.startScroll(mScroller.getCurrX(), 0, (int) (getStepAngleFromAngle(mScroller.getFinalX() / MULTIPLIER) * MULTIPLIER) - mScroller.getCurrX(), 0);
-        //mScroller.setFinalX((int) (getStepAngleFromAngle(mScroller.getFinalX() / MULTIPLIER) * MULTIPLIER));
+    @Nullable
+    private SweepGradient updateGradientShader() {
+        if (mProgressGradient == null) {
+            mGradientShader = null;
+            return null;
+        }
 
-        invalidate();
-        onProgressChanged();
+        float radius = Math.max(Math.min(mDrawRectF.width(), mDrawRectF.height()) / 2, 1);
+        float cap = (float) Math.toDegrees(Math.min(mStrokeWidth / 2 / radius, Math.PI));
+
+        // Split any overlap between the caps
+        float offset = Math.max(Math.min(cap, (360 - mSweepAngle) / 2), 0);
+
+        if (mGradientShader == null || mGradientSweep != mSweepAngle || mGradientOffset != offset) {
+            int count = mProgressGradient.length;
+            float[] positions = new float[count];
+
+            // Spread the colors over the sweep
+            for (int i = 0; i < count; i++) {
+                positions[i] = (offset + Math.min(mSweepAngle, 360) * i / (count - 1)) / 360;
+            }
+
+            mGradientShader = new SweepGradient(0, 0, mProgressGradient, positions);
+            mGradientSweep = mSweepAngle;
+            mGradientOffset = offset;
+        }
+
+        mGradientMatrix.setRotate(mStartAngle - offset);
+        mGradientMatrix.postScale(Math.max(mDrawRectF.width() / 2, 1), Math.max(mDrawRectF.height() / 2, 1));
+        mGradientMatrix.postTranslate(mDrawRectF.centerX(), mDrawRectF.centerY());
+        mGradientShader.setLocalMatrix(mGradientMatrix);
+
+        return mGradientShader;
     }
 
     /**
-     * Update the onProgressChanging listener with the given progress level. If the client returns
-     * false any changes should be abandoned.
-     *
-     * @param progress Progress level.
-     * @return True if the client approves.
+     * Rebuild the cached sweep arc. This is only necessary when the drawing space, startAngle or
+     * sweepAngle have changed, which the sweep key compares.
      */
-    protected boolean onProgressChanging(int progress) {
-        if (mOnProgressChangeListener != null) {
-            return mOnProgressChangeListener.onProgressChanging(this, progress);
-        }
+    private void updateSweepPath() {
+        mSweepPath.reset();
+        mSweepPath.addArc(mDrawRectF, mStartAngle, mSweepAngle);
+        mSweepPathCount++;
+    }
 
-        return true;
+    /**
+     * Get the number of times the sweep arc has been rebuilt.
+     *
+     * @return The rebuild count.
+     */
+    @VisibleForTesting
+    int getSweepPathCount() {
+        return mSweepPathCount;
     }
 
     /**
-     * Update the onProgressChanged listener with the current progress level. When the touch event
-     * is completed finish will be set to true.
+     * Draw the sweep arc, or track, to the given canvas. This is either the view canvas or that of
+     * the cached track bitmap.
+     *
+     * @param canvas Canvas to draw on.
      */
-    protected void onProgressChanged() {
-        boolean finished = !isPressed() && mScroller.isFinished();
+    private void drawTrack(Canvas canvas) {
+        canvas.drawPath(mSweepPath, mSweepPaint);
 
-        // Prevent noisy updates
-        if (mOnProgressChangeListener != null && (mProgress != mLastUpdate || finished)) {
-            mLastUpdate = mProgress;
-            mOnProgressChangeListener.onProgressChanged(this, mProgress, finished);
+        // All of the ticks at once
+        if (mShowTicks && mTickCount > 0) {
+            canvas.drawLines(mTickPoints, 0, mTickCount * 4, mTickPaint);
         }
     }
 
     /**
-     * Create a default thumb drawable. Material Design recommendations are followed for lighting.
-     *
-     * @param context Context given for the view. This determines the resources and theme.
-     * @return The thumb drawable.
+     * Rebuild the tick mark end points. Each tick crosses the stroke along the normal of the ellipse.
+     * The ticks are thinned to every 2nd, 5th, 10th step and so on if they would otherwise be closer
+     * than the minimum spacing.
      */
-    private static Drawable createThumbDrawable(Context context) {
-        int px = dpToPixels(context, 1);
+    private void updateTicks() {
+        mTickRange = mMax - mMin;
+        mTickStroke = mStrokeWidth;
+        mTickCount = 0;
+
+        if (mTickRange == 0 || mSweepAngle == 0) {
+            return;
+        }
+
+        float a = mDrawRectF.width() / 2;
+        float b = mDrawRectF.height() / 2;
+
+        // Approximate the arc length
+        double length = Math.PI * (a + b) * mSweepAngle / 180;
+        long stride = ArcGeometry.getTickStride(length, mTickRange, mTickSpacing);
+        long count = ArcGeometry.getTickCount(mTickRange, stride, mSweepAngle);
+
+        if (mTickPoints == null || mTickPoints.length < count * 4) {
+            mTickPoints = new float[(int) count * 4];
+        }
 
-        ShapeDrawable spacer = new ShapeDrawable(new OvalShape());
-        spacer.getPaint().setColor(0x00000000);
-        spacer.setPadding(px, px, px, 0);
+        float half = mStrokeWidth / 2;
 
-        ShapeDrawable ambient = new ShapeDrawable(new OvalShape());
-        ambient.getPaint().setColor(0x10000000);
-        ambient.setPadding(px, px, px, px);
+        for (int i = 0; i < count; i++) {
+            float angle = (float) getStepAngleFromStep(i * stride) + mStartAngle;
+            double cos = cos(angle);
+            double sin = sin(angle);
 
-        ShapeDrawable key = new ShapeDrawable(new OvalShape());
-        key.getPaint().setColor(0x20000000);
-        key.setPadding(0, 0, 0, px);
+            // Normal of x = a cos(t), y = b sin(t)
+            double normalX = b * cos;
+            double normalY = a * sin;
+            double scale = half / Math.max(Math.hypot(normalX, normalY), 1e-6);
 
-        ShapeDrawable thumb = new ShapeDrawable(new OvalShape());
-        thumb.getPaint().setColor(THUMB_COLOR);
+            double x = a * cos + mDrawRectF.centerX();
+            double y = b * sin + mDrawRectF.centerY();
 
-        return new LayerDrawable(new Drawable[]{spacer, ambient, key, thumb});
+            mTickPoints[i * 4] = (float) (x - normalX * scale);
+            mTickPoints[i * 4 + 1] = (float) (y - normalY * scale);
+            mTickPoints[i * 4 + 2] = (float) (x + normalX * scale);
+            mTickPoints[i * 4 + 3] = (float) (y + normalY * scale);
+        }
+
+        mTickCount = (int) count;
     }
 
     /**
-     * Create a default ripple drawable. It is used for visual confirmation of touch interaction.
-     *
-     * @param context Context given for the view. This determines the resources and theme.
-     * @return The ripple drawable.
+     * Mark the cached track bitmap and node to be drawn again. This is called when the track
+     * geometry or paint has changed.
      */
-    @RequiresApi(api = Build.VERSION_CODES.LOLLIPOP)
-    private static Drawable createRippleDrawable(Context context) {
-        ColorStateList rippleColor = ColorStateList.valueOf(getAttrColor(context, RIPPLE_COLOR));
-        return new RippleDrawable(rippleColor, null, null);
+    private void invalidateTrack() {
+        mTrackDirty = true;
+
+        if (mRenderNodeLayer != null && Build.VERSION.SDK_INT >= Build.VERSION_CODES.Q) {
+            mRenderNodeLayer.invalidateTrack();
+        }
     }
 
     /**
-     * Utility method to find a color as defined in the attribute of a theme.
+     * Render the track into the cached bitmap if it has been marked as dirty. The bitmap covers the
+     * drawing space plus the stroke and is only reallocated when that size changes.
      *
-     * @param context   Context given for the attribute. This determines the resources and theme.
-     * @param attrResId The color resource.
-     * @return An ARGB color integer.
+     * @return True if the bitmap is ready to be drawn.
      */
-    @ColorInt
-    private static int getAttrColor(Context context, @AttrRes int attrResId) {
-        TypedValue typedValue = new TypedValue();
-        context.getTheme().resolveAttribute(attrResId, typedValue, true);
+    private boolean updateTrackBitmap() {
+        if (!mTrackDirty && mTrackBitmap != null) {
+            return true;
+        }
+
+        float inset = mStrokeWidth / 2;
+
+        // Bounds of the stroked arc
+        int left = (int) Math.floor(mDrawRectF.left - inset);
+        int top = (int) Math.floor(mDrawRectF.top - inset);
+        int right = (int) Math.ceil(mDrawRectF.right + inset);
+        int bottom = (int) Math.ceil(mDrawRectF.bottom + inset);
+
+        if (right <= left || bottom <= top) {
+            return false;
+        }
+
+        if (mTrackBitmap == null || mTrackBitmap.getWidth() != right - left || mTrackBitmap.getHeight() != bottom - top) {
+            releaseTrackBitmap();
 
-        return typedValue.data;
+            mTrackBitmap = Bitmap.createBitmap(right - left, bottom - top, Bitmap.Config.ARGB_8888);
+            mTrackCanvas = new Canvas(mTrackBitmap);
+        } else {
+            mTrackBitmap.eraseColor(0);
+        }
+
+        mTrackLeft = left;
+        mTrackTop = top;
+
+        // Offset into bitmap space
+        int saveCount = mTrackCanvas.save();
+        mTrackCanvas.translate(-left, -top);
+        drawTrack(mTrackCanvas);
+        mTrackCanvas.restoreToCount(saveCount);
+
+        mTrackDirty = false;
+        return true;
     }
 
     /**
-     * Utility method to find the pixel resolution of a density pixel value.
-     *
-     * @param context Context given for the metrics. This determines the resources and theme.
-     * @param dp      Density pixels to convert.
-     * @return The pixel resolution.
+     * Release the cached track bitmap. It will be recreated on the next draw if still enabled.
      */
-    private static int dpToPixels(Context context, @Dimension float dp) {
-        return (int) (dp * context.getResources().getDisplayMetrics().density + 0.5);
+    private void releaseTrackBitmap() {
+        if (mTrackBitmap != null) {
+            mTrackBitmap.recycle();
+        }
+
+        mTrackBitmap = null;
+        mTrackCanvas = null;
+        mTrackDirty = true;
     }
 
     /**
-     * Utility method to find the density pixel value of a pixel resolution.
+     * Invalidate the view for a progress change between two angles. If dirtyRegion is enabled only
+     * the bounds of the arc segment, including both thumb positions, are invalidated.
      *
-     * @param context Context given for the metrics. This determines the resources and theme.
-     * @param px      Pixel resolution to convert.
-     * @return The density pixels.
+     * @param fromAngle The previously drawn angle.
+     * @param toAngle   The updated angle.
      */
-    @Dimension
-    private static float pixelsToDp(Context context, int px) {
-        return px / context.getResources().getDisplayMetrics().density;
+    @SuppressWarnings("deprecation")
+    private void invalidateArc(float fromAngle, float toAngle) {
+        if (!mDirtyRegion) {
+            invalidate();
+            return;
+        }
+
+        float start = Math.min(fromAngle, toAngle);
+        float end = Math.max(fromAngle, toAngle);
+
+        // Bound both of the end points
+        getPoint(mDirtyPoint, start);
+        mDirtyRect.set(mDirtyPoint.x, mDirtyPoint.y, mDirtyPoint.x, mDirtyPoint.y);
+        getPoint(mDirtyPoint, end);
+        mDirtyRect.union(mDirtyPoint.x, mDirtyPoint.y);
+
+        // Include any axis extremes
+        for (float axis = (float) Math.ceil((start + mStartAngle) / 90) * 90; axis < end + mStartAngle; axis += 90) {
+            getPoint(mDirtyPoint, axis - mStartAngle);
+            mDirtyRect.union(mDirtyPoint.x, mDirtyPoint.y);
+        }
+
+        // Cover the thumb and stroke caps
+        int inset = (int) Math.ceil(Math.max(mThumbRadius, mTouchRadius)) + 1;
+        mDirtyRect.inset(-inset, -inset);
+
+        invalidate(mDirtyRect.left, mDirtyRect.top, mDirtyRect.right, mDirtyRect.bottom);
     }
 
     /**
-     * Utility method to find the preferred measurements of this view for the view parent.
+     * Check to see if a given point is within the ellipse. If touchInside is false it will use the
+     * greater of thumbRadius or half the strokeWidth to section out the core.
      *
-     * @param defaultSize Default size of the view.
-     * @param measureSpec Constraints imposed by the parent.
-     * @return Preferred size for this view.
-     * @see View#getDefaultSize(int, int)
+     * @param x The X axis.
+     * @param y The Y axis.
+     * @return True if it is within the orbit.
      */
-    public static int getDefaultSize(int defaultSize, int measureSpec) {
-        int mode = MeasureSpec.getMode(measureSpec);
-        int size = MeasureSpec.getSize(measureSpec);
+    public boolean isInsideOrbit(float x, float y) {
+        float paddingStart = Build.VERSION.SDK_INT >= Build.VERSION_CODES.JELLY_BEAN_MR1 ? getPaddingStart() : getPaddingLeft();
 
-        switch (mode) {
-            case MeasureSpec.EXACTLY:
-                return size;
-            case MeasureSpec.AT_MOST:
-                return Math.min(size, defaultSize);
-            case MeasureSpec.UNSPECIFIED:
-            default:
-                return defaultSize;
-        }
+        // Calculate ellipse parameters
+        float a = mDrawRectF.centerX() - paddingStart;
+        float b = mDrawRectF.centerY() - getPaddingTop();
+
+        return ArcGeometry.isInsideOrbit(x, y, mDrawRectF.centerX(), mDrawRectF.centerY(), a, b, mTouchRadius, mTouchInside);
     }
 
     /**
-     * Get the start angle of the arc. This is relative to 90 degrees clockwise.
+     * Find the angle of a point from the center of the ellipse. This is relative to the startAngle.
      *
-     * @return The start angle.
+     * @param x The X axis.
+     * @param y The Y axis.
+     * @return Angle from the ellipse.
      */
-    public float getStartAngle() {
-        return mStartAngle;
+    public float getAngle(float x, float y) {
+        return ArcGeometry.getAngle(x, y, mDrawRectF.centerX(), mDrawRectF.centerY(), mStartAngle, getTrigTable());
     }
 
     /**
-     * Set the start angle of the arc. This is relative to 90 degrees clockwise.
+     * Find the point of an angle from the center of the ellipse. This is on the ellipse line. A new
+     * object is allocated for each call, so the overloads should be preferred for repeated use.
      *
-     * @param startAngle The start angle.
+     * @param angle The given angle.
+     * @return A point on the ellipse.
      */
-    public void setStartAngle(float startAngle) {
-        mStartAngle = startAngle % 360;
-        onUpdateDrawableState();
+    @NonNull
+    public Point getPoint(float angle) {
+        return getPoint(new Point(), angle);
     }
 
     /**
-     * Get the stroke width of the arc. This is also used to define the arc padding and touch area
-     * if it is larger than twice the thumbRadius.
+     * Find the point of an angle from the center of the ellipse. This is on the ellipse line and
+     * rounded to the nearest pixel.
      *
-     * @return The stroke width.
+     * @param point Point object to set.
+     * @param angle The given angle.
+     * @return The given point, set on the ellipse.
      */
-    public float getStrokeWidth() {
-        return mStrokeWidth;
+    @NonNull
+    public Point getPoint(@NonNull Point point, float angle) {
+        double axisX = ArcGeometry.getPointX(angle, mDrawRectF.centerX(), mDrawRectF.width() / 2, mStartAngle, getTrigTable());
+        double axisY = ArcGeometry.getPointY(angle, mDrawRectF.centerY(), mDrawRectF.height() / 2, mStartAngle, getTrigTable());
+
+        point.set((int) (axisX + 0.5), (int) (axisY + 0.5));
+        return point;
     }
 
     /**
-     * Set the stroke width of the arc. This is also used to define the arc padding and touch area
-     * if it is larger than twice the thumbRadius.
+     * Find the point of an angle from the center of the ellipse. This is on the ellipse line and is
+     * not rounded.
      *
-     * @param strokeWidth The stroke width.
+     * @param point PointF object to set.
+     * @param angle The given angle.
+     * @return The given point, set on the ellipse.
      */
-    public void setStrokeWidth(float strokeWidth) {
-        mStrokeWidth = strokeWidth;
-        onUpdateDrawableState();
+    @NonNull
+    public PointF getPoint(@NonNull PointF point, float angle) {
+        double axisX = ArcGeometry.getPointX(angle, mDrawRectF.centerX(), mDrawRectF.width() / 2, mStartAngle, getTrigTable());
+        double axisY = ArcGeometry.getPointY(angle, mDrawRectF.centerY(), mDrawRectF.height() / 2, mStartAngle, getTrigTable());
+
+        point.set((float) axisX, (float) axisY);
+        return point;
     }
 
     /**
-     * Get the sweep angle of the arc. This is clockwise from the startAngle.
+     * Find the cosine of an angle in degrees. The lookup table is used if the trigMode allows it.
      *
-     * @return The sweep angle.
+     * @param degrees The given angle.
+     * @return Cosine of the angle.
      */
-    public float getSweepAngle() {
-        return mSweepAngle;
+    private double cos(float degrees) {
+        return ArcGeometry.cos(degrees, getTrigTable());
     }
 
     /**
-     * Set the sweep angle of the arc. This is clockwise from the startAngle and may normalize the
-     * progress angle if necessary.
+     * Find the sine of an angle in degrees. The lookup table is used if the trigMode allows it.
      *
-     * @param sweepAngle The sweep angle.
+     * @param degrees The given angle.
+     * @return Sine of the angle.
      */
-    public void setSweepAngle(float sweepAngle) {
-        mSweepAngle = (360 + sweepAngle % 360) % 360;
-        setProgress(mProgress);
-        //onUpdateDrawableState();
+    private double sin(float degrees) {
+        return ArcGeometry.sin(degrees, getTrigTable());
     }
 
     /**
-     * Get the sweep color of the arc. This is the primary color used to draw the widget.
+     * Get the trig table to use for the trigMode.
      *
-     * @return The sweep color.
+     * @return The lookup table, or null if the exact functions are used.
      */
-    @ColorInt
-    public int getSweepColor() {
-        return mSweepColor;
+    @Nullable
+    private TrigTable getTrigTable() {
+        return mTrigMode == TrigMode.TABLE ? mTrigTable : null;
     }
 
     /**
-     * Set the sweep color of the arc. This is the primary color used to draw the widget.
+     * Find if a given point is inside an ellipse. This is relative to the given axis.
      *
-     * @param sweepColor The sweep color.
+     * @param x The X axis.
+     * @param y The Y axis.
+     * @param a Semi-major axis.
+     * @param b Semi-minor axis.
+     * @return True if it is inside the ellipse.
      */
-    public void setSweepColor(@ColorInt int sweepColor) {
-        mSweepColor = sweepColor;
-        onUpdateDrawableState();
+    private boolean isInsideEllipse(float x, float y, float a, float b) {
+        return ArcGeometry.isInsideEllipse(x, y, a, b);
     }
 
     /**
-     * Get the progress color state list. This is the active color state used to draw the progress.
+     * Find the progress step of an angle. This is based on the sweepAngle.
      *
-     * @return The progress color.
+     * @param angle The given angle.
+     * @return Progress step.
      */
-    public ColorStateList getProgressColor() {
-        return mProgressColor;
+    private long getStepFromAngle(double angle) {
+        return ArcGeometry.getStepFromAngle(angle, mMax - mMin, mSweepAngle);
     }
 
     /**
-     * Set the progress color state list. This is the color state used to draw the progress arc.
+     * Find the progress step angle of an angle. This is based on the sweepAngle.
      *
-     * @param colorStateList The progress color.
+     * @param angle The given angle.
+     * @return Progress step angle.
      */
-    public void setProgressColor(@Nullable ColorStateList colorStateList) {
-        mProgressColor = colorStateList == null ? ColorStateList.valueOf(0) : colorStateList;
-        onUpdateDrawableState();
+    private double getStepAngleFromAngle(double angle) {
+        return ArcGeometry.getStepAngleFromAngle(angle, mMax - mMin, mSweepAngle);
     }
 
     /**
-     * Set the progress color. This is the color used to draw the progress arc.
+     * Find the progress step angle of a step. This is based on the sweepAngle.
      *
-     * @param progressColor The progress color.
+     * @param step Progress step.
+     * @return Progress step angle.
      */
-    public void setProgressColor(@ColorInt int progressColor) {
-        mProgressColor = ColorStateList.valueOf(progressColor);
-        onUpdateDrawableState();
+    private double getStepAngleFromStep(long step) {
+        return ArcGeometry.getStepAngleFromStep(step, mMax - mMin, mSweepAngle);
     }
 
     /**
-     * Get the thumb drawable. A default drawable is assigned during object initiation if one has
-     * not been provided by the client. This can be used to reference it.
+     * Check to see if a scroll event should be initiated. If touchInside is false it will use the
+     * sweepAngle to section out the slice.
      *
-     * @return The thumb drawable.
+     * @param x The X axis.
+     * @param y The Y axis.
+     * @return True if the event should be allowed.
+     */
+    private boolean startScroll(float x, float y) {
+        mLastUpdate = -1;
+
+        boolean start = isInsideEllipse(x - mStartOrb.x, y - mStartOrb.y, mTouchRadius, mTouchRadius);
+        boolean end = isInsideEllipse(x - mEndOrb.x, y - mEndOrb.y, mTouchRadius, mTouchRadius);
+
+        // Section out the arc orbit
+        if (isInsideOrbit(x, y) && (mTouchInside || (getAngle(x, y) < mSweepAngle + 1 || start || end))) {
+            if (mThumbCount > 1) {
+                setActiveThumb(findNearestThumb(getTouchAngle(x, y, false)));
+            }
+
+            return updateScroll(x, y);
+        }
+
+        return false;
+    }
+
+    /**
+     * Process a scroll event to update the scroller. If the onChanging listener returns false the
+     * change is abandoned.
+     *
+     * @param x The X axis.
+     * @param y The Y axis.
+     * @return True if the scroller is updated.
+     */
+    private boolean updateScroll(float x, float y) {
+        boolean thumb = isInsideEllipse(x - mThumbOrb.x, y - mThumbOrb.y, mTouchRadius, mTouchRadius);
+        float angle = getTouchAngle(x, y, thumb);
+
+        // Process the touch angle
+        if (angle < mSweepAngle + 1) {
+            applyScroll(angle);
+            return true;
+        }
+
+        // Update the onChanged listener
+        if (mAngleEngine.isFinished()) {
+            mAngleEngine.setFinalAngle(mAngleEngine.getCurrAngle());
+            postAnimationFrame();
+        }
+
+        return mTouchInside || thumb;
+    }
+
+    /**
+     * Find the touch angle of a point. Points in the pie slice outside of the sweepAngle are divided
+     * between the start and end, unless they are being dragged by the thumb.
+     *
+     * @param x     The X axis.
+     * @param y     The Y axis.
+     * @param thumb True if the point is inside the thumb.
+     * @return Angle from the ellipse.
+     */
+    private float getTouchAngle(float x, float y, boolean thumb) {
+        return ArcGeometry.getTouchAngle(getAngle(x, y), mSweepAngle, thumb);
+    }
+
+    /**
+     * Update the scroller with a touch angle. If the onChanging listener returns false the change is
+     * abandoned.
+     *
+     * @param angle The touch angle.
+     */
+    private void applyScroll(float angle) {
+        if (mAngleEngine.computeAngleOffset(AnimationUtils.currentAnimationTimeMillis())) {
+            mAngleEngine.forceFinished();
+        }
+
+        double clamped = clampThumbAngle(angle);
+
+        // Check the onChanging listener
+        if (onProgressChanging(getStepFromAngle(clamped) + mMin)) {
+            switch (mScrollMode) {
+                case ScrollMode.DRIFT:
+                    mAngleEngine.startScroll(mAngleEngine.getCurrAngle(), clamped, AnimationUtils.currentAnimationTimeMillis());
+                    break;
+                case ScrollMode.GRAVITY:
+                    mAngleEngine.startScroll(mAngleEngine.getCurrAngle(), clampThumbAngle(getStepAngleFromAngle(clamped)), AnimationUtils.currentAnimationTimeMillis());
+                    break;
+                case ScrollMode.SNAP:
+                    mAngleEngine.setFinalAngle(clampThumbAngle(getStepAngleFromAngle(clamped)));
+                    break;
+            }
+        }
+
+        invalidateArc(mDrawnAngle, (float) mAngleEngine.getFinalAngle());
+        postAnimationFrame();
+    }
+
+    /**
+     * Resolve the current and historical samples of a move event into a single touch angle. The
+     * angle is applied once on the next animation frame, no matter how many events arrive first.
+     *
+     * @param event The move event.
+     */
+    private void batchScroll(MotionEvent event) {
+        int history = event.getHistorySize();
+
+        for (int i = 0; i <= history; i++) {
+            float x = i < history ? event.getHistoricalX(i) : event.getX();
+            float y = i < history ? event.getHistoricalY(i) : event.getY();
+
+            boolean thumb = isInsideEllipse(x - mThumbOrb.x, y - mThumbOrb.y, mTouchRadius, mTouchRadius);
+            float angle = getTouchAngle(x, y, thumb);
+
+            // Keep the latest usable sample
+            if (angle < mSweepAngle + 1) {
+                mTouchAngle = angle;
+                mTouchPending = true;
+            }
+        }
+
+        if (mTouchPending && !mTouchPosted) {
+            mTouchPosted = true;
+            postOnAnimation(mTouchRunnable);
+        }
+    }
+
+    /**
+     * Apply any pending batched touch angle immediately.
+     */
+    private void flushBatchScroll() {
+        if (mTouchPending) {
+            mTouchPending = false;
+            applyScroll(mTouchAngle);
+        }
+    }
+
+    /**
+     * Drop any pending batched touch angle and its animation callback.
+     */
+    private void cancelBatchScroll() {
+        if (mTouchPosted) {
+            mTouchPosted = false;
+            removeCallbacks(mTouchRunnable);
+        }
+
+        mTouchPending = false;
+    }
+
+    /**
+     * Lay out the thumbs for the current thumbCount. The first thumb keeps the progress level and
+     * the others are spread evenly from it to the max level.
+     */
+    private void resetThumbs() {
+        mThumbAngles = new double[mThumbCount];
+        mThumbProgress = new long[mThumbCount];
+        mActiveThumb = 0;
+
+        for (int i = 0; i < mThumbCount; i++) {
+            mThumbProgress[i] = i == 0 ? mProgress : mProgress + (long) ((double) (mMax - mProgress) * i / (mThumbCount - 1));
+        }
+
+        updateThumbAngles();
+    }
+
+    /**
+     * Update the angles of the inactive thumbs. Their progress is clamped to the range and to the
+     * thumb before it, so the angles stay sorted.
+     */
+    private void updateThumbAngles() {
+        mThumbProgress[mActiveThumb] = mProgress;
+
+        for (int i = 0; i < mThumbCount; i++) {
+            if (i == mActiveThumb) {
+                mThumbAngles[i] = mAngleEngine != null ? mAngleEngine.getCurrAngle() : getStepAngleFromStep(mProgress - mMin);
+                continue;
+            }
+
+            long lower = i > 0 ? mThumbProgress[i - 1] : mMin;
+
+            mThumbProgress[i] = mThumbProgress[i] < lower ? lower : Math.min(mThumbProgress[i], mMax);
+            mThumbAngles[i] = getStepAngleFromStep(mThumbProgress[i] - mMin);
+        }
+    }
+
+    /**
+     * Find the thumb nearest to an angle. Stacked thumbs resolve to the one on the side of the
+     * angle.
+     *
+     * @param angle The given angle.
+     * @return Index of the nearest thumb.
+     */
+    private int findNearestThumb(double angle) {
+        return ArcGeometry.findNearestAngle(mThumbAngles, angle);
+    }
+
+    /**
+     * Clamp an angle between the thumbs either side of the active thumb. This keeps them from
+     * crossing over each other.
+     *
+     * @param angle The given angle.
+     * @return The clamped angle.
+     */
+    private double clampThumbAngle(double angle) {
+        if (mThumbCount == 1) {
+            return angle;
+        }
+
+        return ArcGeometry.clampAngle(mThumbAngles, mActiveThumb, angle, mSweepAngle);
+    }
+
+    /**
+     * Complete a scroll event by invalidating the view and updating the onChanged listener.
+     */
+    private void finishScroll() {
+        //mAngleEngine.startScroll(mAngleEngine.getCurrAngle(), getStepAngleFromAngle(mAngleEngine.getFinalAngle()), AnimationUtils.currentAnimationTimeMillis());
+        //mAngleEngine.setFinalAngle(getStepAngleFromAngle(mAngleEngine.getFinalAngle()));
+
+        invalidateArc(mDrawnAngle, (float) mAngleEngine.getFinalAngle());
+        onProgressChanged();
+    }
+
+    /**
+     * Update the onProgressChanging listener with the given progress level. If the client returns
+     * false any changes should be abandoned.
+     *
+     * @param progress Progress level.
+     * @return True if the client approves.
+     */
+    protected boolean onProgressChanging(long progress) {
+        long start = beginSection(PerformanceMetrics.Section.LISTENER);
+
+        try {
+            boolean approved = true;
+
+            if (mOnLongProgressChangeListener != null) {
+                approved = mOnLongProgressChangeListener.onProgressChanging(this, progress);
+            }
+
+            approved &= onProgressChanging(saturate(progress));
+
+            if (mProgressPublisher != null && mProgressPublisher.hasSubscribers()) {
+                mProgressPublisher.publish(progress, approved ? ProgressPublisher.Event.CHANGING : ProgressPublisher.Event.VETOED);
+            }
+
+            return approved;
+        } finally {
+            endSection(PerformanceMetrics.Section.LISTENER, start);
+        }
+    }
+
+    /**
+     * Update the onProgressChanging listener with the given progress level. If the client returns
+     * false any changes should be abandoned. This is called from onProgressChanging(long).
+     *
+     * @param progress Progress level, saturated to the int range.
+     * @return True if the client approves.
+     * @deprecated Override {@link #onProgressChanging(long)} to see the full long range.
+     */
+    @Deprecated
+    protected boolean onProgressChanging(int progress) {
+        // Can't wait on an executor
+        if (mOnProgressChangeListener != null && mExecutorDispatcher == null) {
+            return mOnProgressChangeListener.onProgressChanging(this, progress);
+        }
+
+        return true;
+    }
+
+    /**
+     * Update the onProgressChanged listener with the current progress level. When the touch event
+     * is completed finish will be set to true.
+     */
+    protected void onProgressChanged() {
+        boolean finished = !isPressed() && mAngleEngine.isFinished();
+
+        // Prevent noisy updates
+        if (mProgress != mLastUpdate || finished) {
+            mLastUpdate = mProgress;
+
+            if (!mListenerCoalesced || !mAttached) {
+                dispatchProgressChanged(mProgress, finished, 0);
+                return;
+            }
+
+            // Never conflate a finished update
+            if (mDispatchPending && mDispatchFinished && !finished) {
+                flushProgressChanged();
+            }
+
+            if (mDispatchPending) {
+                mDispatchConflated++;
+            }
+
+            mDispatchPending = true;
+            mDispatchProgress = mProgress;
+            mDispatchFinished = finished;
+
+            if (!mDispatchPosted) {
+                mDispatchPosted = true;
+                Choreographer.getInstance().postFrameCallback(mDispatchCallback);
+            }
+        }
+    }
+
+    /**
+     * Deliver any pending coalesced progress update immediately.
+     */
+    private void flushProgressChanged() {
+        if (mDispatchPending) {
+            int conflated = mDispatchConflated;
+
+            mDispatchPending = false;
+            mDispatchConflated = 0;
+            dispatchProgressChanged(mDispatchProgress, mDispatchFinished, conflated);
+        }
+    }
+
+    /**
+     * Call the onChanged listeners with a progress update.
+     *
+     * @param progress  Progress level.
+     * @param finished  True if the touch event has ended.
+     * @param conflated Number of updates replaced by this one.
+     */
+    private void dispatchProgressChanged(long progress, boolean finished, int conflated) {
+        long start = beginSection(PerformanceMetrics.Section.LISTENER);
+
+        try {
+            mConflatedCount = conflated;
+
+            if (mOnLongProgressChangeListener != null) {
+                mOnLongProgressChangeListener.onProgressChanged(this, progress, finished);
+            }
+
+            if (mExecutorDispatcher != null) {
+                mExecutorDispatcher.post(saturate(progress), finished);
+            } else if (mOnProgressChangeListener != null) {
+                mOnProgressChangeListener.onProgressChanged(this, saturate(progress), finished);
+            }
+
+            if (mProgressPublisher != null && mProgressPublisher.hasSubscribers()) {
+                mProgressPublisher.publish(progress, finished ? ProgressPublisher.Event.FINISHED : ProgressPublisher.Event.CHANGED);
+            }
+        } finally {
+            endSection(PerformanceMetrics.Section.LISTENER, start);
+        }
+    }
+
+    /**
+     * Publish the progress state for readSnapshot(). This is called from the UI thread whenever the
+     * progress, angle or pressed state changes.
+     */
+    private void publishSnapshot() {
+        boolean finished = !isPressed() && mAngleEngine.isFinished();
+        mSnapshotState.publish(mProgress, mAngleEngine.getCurrAngle(), isPressed(), finished);
+    }
+
+    /**
+     * Read a consistent copy of the progress state. Unlike the other getters, this is lock-free and
+     * safe to call from any thread at any rate.
+     *
+     * @param snapshot Snapshot object to set.
+     * @return The given snapshot.
+     */
+    @NonNull
+    public Snapshot readSnapshot(@NonNull Snapshot snapshot) {
+        mSnapshotState.read(snapshot, SNAPSHOT_READER);
+        return snapshot;
+    }
+
+    /**
+     * Utility method to narrow a progress level to the int API. Levels beyond the int range are
+     * saturated rather than wrapped.
+     *
+     * @param progress Progress level.
+     * @return The saturated progress level.
+     */
+    private static int saturate(long progress) {
+        return (int) Math.max(Integer.MIN_VALUE, Math.min(progress, Integer.MAX_VALUE));
+    }
+
+    /**
+     * Find a default thumb drawable. A constant state is cached for each density and every view gets
+     * its own mutated copy, so only the rendered bitmap is shared.
+     *
+     * @param context Context given for the view. This determines the resources and theme.
+     * @return The thumb drawable.
+     */
+    private static Drawable obtainThumbDrawable(Context context) {
+        int px = dpToPixels(context, 1);
+
+        synchronized (THUMB_STATES) {
+            Drawable.ConstantState state = THUMB_STATES.get(px);
+
+            if (state == null) {
+                Drawable drawable = createThumbDrawable(px);
+                state = drawable.getConstantState();
+
+                // Unable to share it
+                if (state == null) {
+                    return drawable;
+                }
+
+                THUMB_STATES.put(px, state);
+            }
+
+            return state.newDrawable(context.getResources()).mutate();
+        }
+    }
+
+    /**
+     * Create a default thumb drawable. Material Design recommendations are followed for lighting,
+     * and the layers are rendered together so the thumb is drawn in a single pass.
+     *
+     * @param px Pixel resolution of one density pixel.
+     * @return The thumb drawable.
+     */
+    private static Drawable createThumbDrawable(int px) {
+        return new ThumbDrawable(px, THUMB_COLOR);
+    }
+
+    /**
+     * Create a default ripple drawable. It is used for visual confirmation of touch interaction.
+     * This is not shared like the thumb, as mutate() gives every ripple its own copy of the state.
+     *
+     * @param context Context given for the view. This determines the resources and theme.
+     * @return The ripple drawable.
+     */
+    @RequiresApi(api = Build.VERSION_CODES.LOLLIPOP)
+    private static Drawable createRippleDrawable(Context context) {
+        ColorStateList rippleColor = ColorStateList.valueOf(getAttrColor(context, RIPPLE_COLOR));
+        return new RippleDrawable(rippleColor, null, null);
+    }
+
+    /**
+     * Utility method to find a color as defined in the attribute of a theme. Colors are cached for
+     * each theme until the configuration changes.
+     *
+     * @param context   Context given for the attribute. This determines the resources and theme.
+     * @param attrResId The color resource.
+     * @return An ARGB color integer.
+     */
+    @ColorInt
+    private static int getAttrColor(Context context, @AttrRes int attrResId) {
+        Resources.Theme theme = context.getTheme();
+
+        synchronized (ATTR_COLORS) {
+            SparseIntArray colors = ATTR_COLORS.get(theme);
+
+            if (colors == null) {
+                colors = new SparseIntArray();
+                ATTR_COLORS.put(theme, colors);
+            }
+
+            int index = colors.indexOfKey(attrResId);
+
+            if (index < 0) {
+                theme.resolveAttribute(attrResId, TYPED_VALUE, true);
+                colors.put(attrResId, TYPED_VALUE.data);
+
+                return TYPED_VALUE.data;
+            }
+
+            return colors.valueAt(index);
+        }
+    }
+
+    /**
+     * Utility method to find the colors of an array resource.
+     *
+     * @param context    Context given for the array. This determines the resources and theme.
+     * @param arrayResId The array resource, or 0.
+     * @return The ARGB colors, or null if there are less than two.
+     */
+    @Nullable
+    private static int[] getColorArray(Context context, @ArrayRes int arrayResId) {
+        if (arrayResId == 0) {
+            return null;
+        }
+
+        TypedArray typedArray = context.getResources().obtainTypedArray(arrayResId);
+
+        try {
+            int[] colors = new int[typedArray.length()];
+
+            for (int i = 0; i < colors.length; i++) {
+                colors[i] = typedArray.getColor(i, 0);
+            }
+
+            return colors.length < 2 ? null : colors;
+        } finally {
+            typedArray.recycle();
+        }
+    }
+
+    /**
+     * Update the minimum view size and tick sizes for the current display density. These are only
+     * resolved when the view is created or its configuration changes, not on every measure pass.
+     *
+     * @param context Context given for the metrics. This determines the resources and theme.
+     */
+    private void updateDensityPixels(Context context) {
+        mMinWidth = dpToPixels(context, VIEW_WIDTH);
+        mMinHeight = dpToPixels(context, VIEW_HEIGHT);
+        mTickWidth = dpToPixels(context, TICK_WIDTH);
+        mTickSpacing = dpToPixels(context, TICK_SPACING);
+
+        // Spacing may have changed
+        mTickRange = -1;
+    }
+
+    /**
+     * Utility method to find the pixel resolution of a density pixel value.
+     *
+     * @param context Context given for the metrics. This determines the resources and theme.
+     * @param dp      Density pixels to convert.
+     * @return The pixel resolution.
+     */
+    private static int dpToPixels(Context context, @Dimension float dp) {
+        return (int) (dp * context.getResources().getDisplayMetrics().density + 0.5);
+    }
+
+    /**
+     * Utility method to find the density pixel value of a pixel resolution.
+     *
+     * @param context Context given for the metrics. This determines the resources and theme.
+     * @param px      Pixel resolution to convert.
+     * @return The density pixels.
+     */
+    @Dimension
+    private static float pixelsToDp(Context context, int px) {
+        return px / context.getResources().getDisplayMetrics().density;
+    }
+
+    /**
+     * Utility method to find the preferred measurements of this view for the view parent.
+     *
+     * @param defaultSize Default size of the view.
+     * @param measureSpec Constraints imposed by the parent.
+     * @return Preferred size for this view.
+     * @see View#getDefaultSize(int, int)
+     */
+    public static int getDefaultSize(int defaultSize, int measureSpec) {
+        int mode = MeasureSpec.getMode(measureSpec);
+        int size = MeasureSpec.getSize(measureSpec);
+
+        switch (mode) {
+            case MeasureSpec.EXACTLY:
+                return size;
+            case MeasureSpec.AT_MOST:
+                return Math.min(size, defaultSize);
+            case MeasureSpec.UNSPECIFIED:
+            default:
+                return defaultSize;
+        }
+    }
+
+    /**
+     * Get the start angle of the arc. This is relative to 90 degrees clockwise.
+     *
+     * @return The start angle.
+     */
+    public float getStartAngle() {
+        return mStartAngle;
+    }
+
+    /**
+     * Set the start angle of the arc. This is relative to 90 degrees clockwise.
+     *
+     * @param startAngle The start angle.
+     */
+    public void setStartAngle(float startAngle) {
+        mStartAngle = startAngle % 360;
+        updateDrawableState();
+    }
+
+    /**
+     * Get the stroke width of the arc. This is also used to define the arc padding and touch area
+     * if it is larger than twice the thumbRadius.
+     *
+     * @return The stroke width.
+     */
+    public float getStrokeWidth() {
+        return mStrokeWidth;
+    }
+
+    /**
+     * Set the stroke width of the arc. This is also used to define the arc padding and touch area
+     * if it is larger than twice the thumbRadius.
+     *
+     * @param strokeWidth The stroke width.
+     */
+    public void setStrokeWidth(float strokeWidth) {
+        mStrokeWidth = strokeWidth;
+        updateDrawableState();
+    }
+
+    /**
+     * Get the sweep angle of the arc. This is clockwise from the startAngle.
+     *
+     * @return The sweep angle.
+     */
+    public float getSweepAngle() {
+        return mSweepAngle;
+    }
+
+    /**
+     * Set the sweep angle of the arc. This is clockwise from the startAngle and may normalize the
+     * progress angle if necessary.
+     *
+     * @param sweepAngle The sweep angle.
+     */
+    public void setSweepAngle(float sweepAngle) {
+        mSweepAngle = (360 + sweepAngle % 360) % 360;
+        setProgress(mProgress);
+        //onUpdateDrawableState();
+    }
+
+    /**
+     * Get the sweep color of the arc. This is the primary color used to draw the widget.
+     *
+     * @return The sweep color.
+     */
+    @ColorInt
+    public int getSweepColor() {
+        return mSweepColor;
+    }
+
+    /**
+     * Set the sweep color of the arc. This is the primary color used to draw the widget.
+     *
+     * @param sweepColor The sweep color.
+     */
+    public void setSweepColor(@ColorInt int sweepColor) {
+        mSweepColor = sweepColor;
+        updateDrawableState();
+    }
+
+    /**
+     * Check if tick marks are drawn for the progress steps. Ticks are thinned out automatically
+     * when the steps are too close together.
+     *
+     * @return True if ticks are shown.
+     */
+    public boolean isShowTicks() {
+        return mShowTicks;
+    }
+
+    /**
+     * Set whether tick marks are drawn for the progress steps. They are drawn across the arc as
+     * part of the track.
+     *
+     * @param showTicks True if ticks should be shown.
+     */
+    public void setShowTicks(boolean showTicks) {
+        mShowTicks = showTicks;
+        mTickRange = -1;
+
+        invalidateTrack();
+        updateDrawableState();
+    }
+
+    /**
+     * Get the color of the tick marks.
+     *
+     * @return The tick color.
+     */
+    @ColorInt
+    public int getTickColor() {
+        return mTickColor;
+    }
+
+    /**
+     * Set the color of the tick marks.
+     *
+     * @param tickColor The tick color.
+     */
+    public void setTickColor(@ColorInt int tickColor) {
+        mTickColor = tickColor;
+        updateDrawableState();
+    }
+
+    /**
+     * Get the progress color state list. This is the active color state used to draw the progress.
+     *
+     * @return The progress color.
+     */
+    public ColorStateList getProgressColor() {
+        return mProgressColor;
+    }
+
+    /**
+     * Set the progress color state list. This is the color state used to draw the progress arc.
+     *
+     * @param colorStateList The progress color.
+     */
+    public void setProgressColor(@Nullable ColorStateList colorStateList) {
+        mProgressColor = colorStateList == null ? ColorStateList.valueOf(0) : colorStateList;
+        updateDrawableState();
+    }
+
+    /**
+     * Set the progress color. This is the color used to draw the progress arc.
+     *
+     * @param progressColor The progress color.
+     */
+    public void setProgressColor(@ColorInt int progressColor) {
+        mProgressColor = ColorStateList.valueOf(progressColor);
+        updateDrawableState();
+    }
+
+    /**
+     * Get the progress gradient colors. These are spread evenly over the sweepAngle.
+     *
+     * @return The gradient colors, or null if the progress color is used.
+     */
+    @Nullable
+    public int[] getProgressGradient() {
+        return mProgressGradient != null ? mProgressGradient.clone() : null;
+    }
+
+    /**
+     * Set the progress gradient colors. These are spread evenly over the sweepAngle and shade the
+     * progress arc in place of the progress color, whose alpha is still applied.
+     *
+     * @param colors The gradient colors, or null to use the progress color.
+     */
+    public void setProgressGradient(@Nullable @ColorInt int[] colors) {
+        if (colors != null && colors.length < 2) {
+            throw new IllegalArgumentException("Gradient needs at least two colors");
+        }
+
+        mProgressGradient = colors != null ? colors.clone() : null;
+        mGradientShader = null;
+        updateDrawableState();
+    }
+
+    /**
+     * Get the thumb drawable. A default drawable is assigned during object initiation if one has
+     * not been provided by the client. This can be used to reference it.
+     *
+     * @return The thumb drawable.
      */
     @Nullable
     public Drawable getThumbDrawable() {
@@ -1005,7 +2217,7 @@ public class CircularSeekBar extends View {
         }
 
         mThumbDrawable = drawable;
-        onUpdateDrawableState();
+        updateDrawableState();
     }
 
     /**
@@ -1043,7 +2255,107 @@ public class CircularSeekBar extends View {
      */
     public void setThumbRadius(float thumbRadius) {
         mThumbRadius = thumbRadius;
-        onUpdateDrawableState();
+        updateDrawableState();
+    }
+
+    /**
+     * Get the number of thumbs. Multiple thumbs share the arc, with the progress arc drawn between
+     * the first and last of them.
+     *
+     * @return The thumb count.
+     */
+    public int getThumbCount() {
+        return mThumbCount;
+    }
+
+    /**
+     * Set the number of thumbs. The first thumb keeps the current progress level and becomes the
+     * active thumb, while the others are spread evenly from it to the max level.
+     *
+     * @param thumbCount The thumb count, at least 1.
+     */
+    public void setThumbCount(int thumbCount) {
+        thumbCount = Math.max(thumbCount, 1);
+
+        if (thumbCount != mThumbCount) {
+            mThumbCount = thumbCount;
+            resetThumbs();
+            updateDrawableState();
+        }
+    }
+
+    /**
+     * Get the index of the active thumb. This is the thumb that the progress level, listeners and
+     * touch events refer to. Thumbs are ordered by angle.
+     *
+     * @return The active thumb index.
+     */
+    public int getActiveThumb() {
+        return mActiveThumb;
+    }
+
+    /**
+     * Set the active thumb. Any animation of the previously active thumb is completed, and the
+     * progress level is that of the new thumb.
+     *
+     * @param index The thumb index.
+     */
+    public void setActiveThumb(int index) {
+        if (index < 0 || index >= mThumbCount) {
+            throw new IndexOutOfBoundsException("Invalid thumb index " + index);
+        }
+
+        if (index == mActiveThumb) {
+            return;
+        }
+
+        double angle = mAngleEngine.getFinalAngle();
+
+        // Settle the current thumb
+        mThumbAngles[mActiveThumb] = angle;
+        mThumbProgress[mActiveThumb] = getStepFromAngle(angle) + mMin;
+        mAngleEngine.setFinalAngle(angle);
+        mAngleEngine.computeAngleOffset(AnimationUtils.currentAnimationTimeMillis());
+
+        if (mThumbProgress[mActiveThumb] != mProgress) {
+            mProgress = mThumbProgress[mActiveThumb];
+            onProgressChanged();
+        }
+
+        mActiveThumb = index;
+        mProgress = mThumbProgress[index];
+
+        // Jump the engine to the new thumb
+        mAngleEngine.setFinalAngle(mThumbAngles[index]);
+        mAngleEngine.computeAngleOffset(AnimationUtils.currentAnimationTimeMillis());
+        mDrawnAngle = (float) mThumbAngles[index];
+        getPoint(mThumbOrb, mDrawnAngle);
+
+        publishSnapshot();
+        invalidate();
+    }
+
+    /**
+     * Get the progress level of a thumb. For the active thumb this is the current progress.
+     *
+     * @param index The thumb index.
+     * @return The thumb progress level.
+     */
+    public long getThumbProgress(int index) {
+        return mThumbProgress[index];
+    }
+
+    /**
+     * Set the progress level of a thumb. It is clamped between the thumbs either side of it, so the
+     * thumbs never cross. The thumb becomes the active thumb and is set with setProgress(), so the
+     * change reaches the listeners, snapshot and subscribers in the same way.
+     *
+     * @param index    The thumb index.
+     * @param progress The thumb progress level.
+     */
+    public void setThumbProgress(int index, long progress) {
+        setActiveThumb(index);
+        setProgress(progress);
     }
 
     /**
@@ -1087,13 +2399,181 @@ public class CircularSeekBar extends View {
     }
 
     /**
-     * Set the touch inside state. Touch events may be initiated from inside the ellipse if this is
-     * enabled.
+     * Set the touch inside state. Touch events may be initiated from inside the ellipse if this is
+     * enabled.
+     *
+     * @param touchInside True if touch inside is enabled.
+     */
+    public void setTouchInside(boolean touchInside) {
+        mTouchInside = touchInside;
+    }
+
+    /**
+     * Check the dirty region state. Progress changes from touch events and animation only
+     * invalidate the bounds of the changed arc segment and thumb positions. Hardware accelerated
+     * windows may still redraw the whole view.
+     *
+     * @return True if dirty region invalidation is enabled.
+     */
+    public boolean isDirtyRegion() {
+        return mDirtyRegion;
+    }
+
+    /**
+     * Set the dirty region state. Progress changes from touch events and animation only invalidate
+     * the bounds of the changed arc segment and thumb positions. Hardware accelerated windows may
+     * still redraw the whole view.
+     *
+     * @param dirtyRegion True if dirty region invalidation is enabled.
+     */
+    public void setDirtyRegion(boolean dirtyRegion) {
+        mDirtyRegion = dirtyRegion;
+    }
+
+    /**
+     * Check the render node state. On API 29 and above the track and thumb are kept in their own
+     * RenderNodes, so an animation frame only redraws the progress arc and moves the thumb node.
+     *
+     * @return True if render nodes are enabled.
+     */
+    public boolean isRenderNodeEnabled() {
+        return mRenderNodeEnabled;
+    }
+
+    /**
+     * Set the render node state. On API 29 and above the track and thumb are kept in their own
+     * RenderNodes, so an animation frame only redraws the progress arc and moves the thumb node.
+     * This has no effect on earlier versions or software layers.
+     *
+     * @param renderNodeEnabled True if render nodes should be enabled.
+     */
+    public void setRenderNodeEnabled(boolean renderNodeEnabled) {
+        mRenderNodeEnabled = renderNodeEnabled;
+
+        if (mRenderNodeEnabled && mRenderNodeLayer == null && Build.VERSION.SDK_INT >= Build.VERSION_CODES.Q) {
+            mRenderNodeLayer = new RenderNodeLayer();
+        } else if (!mRenderNodeEnabled && mRenderNodeLayer != null && Build.VERSION.SDK_INT >= Build.VERSION_CODES.Q) {
+            mRenderNodeLayer.discard();
+            mRenderNodeLayer = null;
+        }
+
+        invalidate();
+    }
+
+    /**
+     * Get the trigonometry mode used to map between angles and points. The enumeration values are
+     * shared with a styleable XML attribute of the same name.
+     *
+     * @return The trigonometry mode.
+     */
+    @TrigMode
+    public int getTrigMode() {
+        return mTrigMode;
+    }
+
+    /**
+     * Set the trigonometry mode used to map between angles and points. The lookup table follows the
+     * number of steps or the pixel circumference, whichever is greater.
+     *
+     * @param trigMode The trigonometry mode.
+     */
+    public void setTrigMode(@TrigMode int trigMode) {
+        mTrigMode = trigMode;
+        updateDrawableState();
+    }
+
+    /**
+     * Check the cached track state. The sweep arc is rendered once into an off-screen bitmap and
+     * redrawn from it until the geometry or sweepColor changes.
+     *
+     * @return True if the track is cached.
+     */
+    public boolean isTrackCached() {
+        return mTrackCached;
+    }
+
+    /**
+     * Set the cached track state. The sweep arc is rendered once into an off-screen bitmap and
+     * redrawn from it until the geometry or sweepColor changes.
+     *
+     * @param trackCached True if the track should be cached.
+     */
+    public void setTrackCached(boolean trackCached) {
+        mTrackCached = trackCached;
+
+        if (!mTrackCached) {
+            releaseTrackBitmap();
+        }
+
+        invalidate();
+    }
+
+    /**
+     * Check the listener coalesced state. The onChanged listener is called at most once per frame
+     * with the latest progress if this is enabled. Finished updates are always delivered.
+     *
+     * @return True if listener updates are coalesced.
+     */
+    public boolean isListenerCoalesced() {
+        return mListenerCoalesced;
+    }
+
+    /**
+     * Set the listener coalesced state. The onChanged listener is called at most once per frame with
+     * the latest progress if this is enabled. Finished updates are always delivered.
+     *
+     * @param listenerCoalesced True if listener updates should be coalesced.
+     */
+    public void setListenerCoalesced(boolean listenerCoalesced) {
+        mListenerCoalesced = listenerCoalesced;
+
+        if (!mListenerCoalesced) {
+            flushProgressChanged();
+        }
+    }
+
+    /**
+     * Get the number of intermediate updates that were conflated into the latest onChanged call.
+     * This is always zero unless listenerCoalesced is enabled.
+     *
+     * @return The conflated update count.
+     */
+    public int getConflatedCount() {
+        return mConflatedCount;
+    }
+
+    /**
+     * Check the touch batched state. Move events, including their historical samples, are resolved
+     * to one angle update and listener callback per animation frame if this is enabled.
+     *
+     * @return True if touch batching is enabled.
+     */
+    public boolean isTouchBatched() {
+        return mTouchBatched;
+    }
+
+    /**
+     * Set the touch batched state. Move events, including their historical samples, are resolved to
+     * one angle update and listener callback per animation frame if this is enabled.
+     *
+     * @param touchBatched True if touch batching is enabled.
+     */
+    public void setTouchBatched(boolean touchBatched) {
+        mTouchBatched = touchBatched;
+
+        if (!mTouchBatched) {
+            flushBatchScroll();
+        }
+    }
+
+    /**
+     * Get the min progress. This will be less than or equal to the max level and is saturated to
+     * the int range.
      *
-     * @param touchInside True if touch inside is enabled.
+     * @return The min progress level.
      */
-    public void setTouchInside(boolean touchInside) {
-        mTouchInside = touchInside;
+    public int getMin() {
+        return saturate(mMin);
     }
 
     /**
@@ -1101,7 +2581,7 @@ public class CircularSeekBar extends View {
      *
      * @return The min progress level.
      */
-    public int getMin() {
+    public long getMinLong() {
         return mMin;
     }
 
@@ -1112,17 +2592,37 @@ public class CircularSeekBar extends View {
      * @param min The min progress level.
      */
     public void setMin(int min) {
+        setMin((long) min);
+    }
+
+    /**
+     * Set the min progress. This should be less than or equal to the max level and may normalize
+     * the progress level if necessary.
+     *
+     * @param min The min progress level.
+     */
+    public void setMin(long min) {
         mMin = min < 0 ? 0 : Math.min(min, mMax);
         setProgress(mProgress);
         //onUpdateDrawableState();
     }
 
     /**
-     * Get the max progress. This will be greater than or equal to the min level.
+     * Get the max progress. This will be greater than or equal to the min level and is saturated
+     * to the int range.
      *
      * @return The max progress level.
      */
     public int getMax() {
+        return saturate(mMax);
+    }
+
+    /**
+     * Get the max progress. This will be greater than or equal to the min level.
+     *
+     * @return The max progress level.
+     */
+    public long getMaxLong() {
         return mMax;
     }
 
@@ -1133,17 +2633,37 @@ public class CircularSeekBar extends View {
      * @param max The max progress level.
      */
     public void setMax(int max) {
+        setMax((long) max);
+    }
+
+    /**
+     * Set the max progress. This should be greater than or equal to the min level and may normalize
+     * the progress level if necessary.
+     *
+     * @param max The max progress level.
+     */
+    public void setMax(long max) {
         mMax = Math.max(max, mMin);
         setProgress(mProgress);
         //onUpdateDrawableState();
     }
 
     /**
-     * Get the current progress. This will be within the set min and max levels.
+     * Get the current progress. This will be within the set min and max levels and is saturated to
+     * the int range.
      *
      * @return The current progress level.
      */
     public int getProgress() {
+        return saturate(mProgress);
+    }
+
+    /**
+     * Get the current progress. This will be within the set min and max levels.
+     *
+     * @return The current progress level.
+     */
+    public long getProgressLong() {
         return mProgress;
     }
 
@@ -1154,10 +2674,20 @@ public class CircularSeekBar extends View {
      * @param progress The current progress level.
      */
     public void setProgress(int progress) {
-        setProgress(progress, false);
+        setProgress((long) progress, false);
         //onUpdateDrawableState();
     }
 
+    /**
+     * Set the current progress. This should be within the set min and max levels and may be
+     * normalized if necessary.
+     *
+     * @param progress The current progress level.
+     */
+    public void setProgress(long progress) {
+        setProgress(progress, false);
+    }
+
     /**
      * Set the current progress. This should be within the set min and max levels and may be
      * normalized if necessary.
@@ -1166,17 +2696,38 @@ public class CircularSeekBar extends View {
      * @param animate  True if it should animate the change.
      */
     public void setProgress(int progress, boolean animate) {
-        mProgress = progress < mMin ? mMin : Math.min(progress, mMax);
+        setProgress((long) progress, animate);
+    }
+
+    /**
+     * Set the current progress. This should be within the set min and max levels and may be
+     * normalized if necessary.
+     *
+     * @param progress The current progress level.
+     * @param animate  True if it should animate the change.
+     */
+    public void setProgress(long progress, boolean animate) {
+        long lower = mActiveThumb > 0 ? mThumbProgress[mActiveThumb - 1] : mMin;
+        long upper = mActiveThumb < mThumbCount - 1 ? mThumbProgress[mActiveThumb + 1] : mMax;
+
+        // Keep the thumbs in order
+        mProgress = progress < lower ? lower : Math.min(progress, upper);
+        mProgress = mProgress < mMin ? mMin : Math.min(mProgress, mMax);
+        mThumbProgress[mActiveThumb] = mProgress;
 
         // Don't block setScrollMode() updates
         if (animate) {
-            mScroller.computeScrollOffset();
-            mScroller.startScroll(mScroller.getCurrX(), 0, (int) (getStepAngleFromStep(mProgress - mMin) * MULTIPLIER) - mScroller.getCurrX(), 0);
+            long now = AnimationUtils.currentAnimationTimeMillis();
+
+            mAngleEngine.computeAngleOffset(now);
+            mAngleEngine.startScroll(mAngleEngine.getCurrAngle(), getStepAngleFromStep(mProgress - mMin), now);
         } else {
-            mScroller.setFinalX((int) (getStepAngleFromStep(mProgress - mMin) * MULTIPLIER));
+            mAngleEngine.setFinalAngle(getStepAngleFromStep(mProgress - mMin));
         }
 
-        onUpdateDrawableState();
+        postAnimationFrame();
+        publishSnapshot();
+        updateDrawableState();
     }
 
     /**
@@ -1198,6 +2749,519 @@ public class CircularSeekBar extends View {
      */
     public void setOnProgressChangeListener(@Nullable OnProgressChangeListener onProgressChangeListener) {
         mOnProgressChangeListener = onProgressChangeListener;
+        mExecutorDispatcher = null;
+    }
+
+    /**
+     * Set the progress listener for this instance and call it on the given executor. Only the latest
+     * pending update is kept, along with any finished update, so a slow listener never queues more
+     * than one task. The onChanging listener is not called since changes can't be vetoed later.
+     *
+     * @param onProgressChangeListener SeekBar notification listener.
+     * @param executor                 Executor to call the listener on.
+     */
+    public void setOnProgressChangeListener(@Nullable OnProgressChangeListener onProgressChangeListener, @NonNull Executor executor) {
+        mOnProgressChangeListener = onProgressChangeListener;
+        mExecutorDispatcher = onProgressChangeListener != null ? new ExecutorDispatcher(this, onProgressChangeListener, executor) : null;
+    }
+
+    /**
+     * Get the long progress listener for this instance. The interface is used to notify the client
+     * of any touch initiated changes.
+     *
+     * @return SeekBar notification listener.
+     */
+    @Nullable
+    public OnLongProgressChangeListener getOnLongProgressChangeListener() {
+        return mOnLongProgressChangeListener;
+    }
+
+    /**
+     * Set the long progress listener for this instance. The interface is used to notify the client
+     * of any touch initiated changes beyond the int range.
+     *
+     * @param onLongProgressChangeListener SeekBar notification listener.
+     */
+    public void setOnLongProgressChangeListener(@Nullable OnLongProgressChangeListener onLongProgressChangeListener) {
+        mOnLongProgressChangeListener = onLongProgressChangeListener;
+    }
+
+    /**
+     * Get the progress stream for this instance. Subscribers receive the same touch initiated
+     * changes as the listeners, including vetoes, with demand-based backpressure.
+     *
+     * @return SeekBar progress publisher.
+     */
+    @NonNull
+    public ProgressPublisher getProgressPublisher() {
+        if (mProgressPublisher == null) {
+            mProgressPublisher = new ProgressPublisher(this);
+        }
+
+        return mProgressPublisher;
+    }
+
+    /**
+     * Inner class to hold a copy of the progress state. It is filled by readSnapshot() and can be
+     * reused between calls by the reading thread.
+     */
+    public static final class Snapshot {
+
+        private long progress;
+        private double angle;
+        private boolean pressed;
+        private boolean finished;
+
+        /**
+         * Set the values of the snapshot.
+         *
+         * @param progress The current progress level.
+         * @param angle    The current progress angle.
+         * @param pressed  True if the view is pressed.
+         * @param finished True if the progress has settled.
+         */
+        void set(long progress, double angle, boolean pressed, boolean finished) {
+            this.progress = progress;
+            this.angle = angle;
+            this.pressed = pressed;
+            this.finished = finished;
+        }
+
+        /**
+         * Get the progress level. This will be within the set min and max levels.
+         *
+         * @return The progress level.
+         */
+        public long getProgress() {
+            return progress;
+        }
+
+        /**
+         * Get the progress angle. This is relative to the startAngle and may be between steps while
+         * animating.
+         *
+         * @return The progress angle.
+         */
+        public double getAngle() {
+            return angle;
+        }
+
+        /**
+         * Check the pressed state of the view.
+         *
+         * @return True if the view is pressed.
+         */
+        public boolean isPressed() {
+            return pressed;
+        }
+
+        /**
+         * Check the finished state. The touch event has ended and any animation has settled.
+         *
+         * @return True if the progress has settled.
+         */
+        public boolean isFinished() {
+            return finished;
+        }
+    }
+
+    /**
+     * Get the touch latency histogram for this instance. This records the time from a touch event
+     * to the draw that shows the thumb at the position it settled on, so it includes the scroll
+     * mode animation.
+     *
+     * @return The latency histogram.
+     */
+    @NonNull
+    public LatencyHistogram getLatencyHistogram() {
+        return mLatencyHistogram;
+    }
+
+    /**
+     * Get the performance metrics for this instance.
+     *
+     * @return The instance metrics, or null if none are set.
+     */
+    @Nullable
+    public PerformanceMetrics getMetrics() {
+        return mMetrics;
+    }
+
+    /**
+     * Set the performance metrics for this instance. These are used instead of the global metrics
+     * and may be shared between views.
+     *
+     * @param metrics The instance metrics, or null to use the global metrics.
+     */
+    public void setMetrics(@Nullable PerformanceMetrics metrics) {
+        mMetrics = metrics;
+    }
+
+    /**
+     * Get the performance metrics shared by every instance without its own.
+     *
+     * @return The global metrics, or null if none are set.
+     */
+    @Nullable
+    public static PerformanceMetrics getGlobalMetrics() {
+        return sGlobalMetrics;
+    }
+
+    /**
+     * Set the performance metrics shared by every instance without its own. Nothing is measured
+     * unless metrics are set, although the trace sections are always marked.
+     *
+     * @param metrics The global metrics, or null to disable them.
+     */
+    public static void setGlobalMetrics(@Nullable PerformanceMetrics metrics) {
+        sGlobalMetrics = metrics;
+    }
+
+    /**
+     * Start editing several properties at once. The changes are applied together, with a single
+     * update of the drawing objects, when {@link Editor#apply()} is called.
+     *
+     * @return A new property editor.
+     */
+    @NonNull
+    public Editor edit() {
+        return new Editor();
+    }
+
+    /**
+     * Inner class to batch property changes. Values are collected by the editor and set on the view
+     * in one pass so that onUpdateDrawableState() only runs once. Behavior flags that don't update
+     * the drawing objects, such as touchInside or trackCached, are set on the view directly.
+     */
+    public final class Editor {
+
+        private static final int START_ANGLE = 1;
+        private static final int STROKE_WIDTH = 1 << 1;
+        private static final int SWEEP_ANGLE = 1 << 2;
+        private static final int SWEEP_COLOR = 1 << 3;
+        private static final int PROGRESS_COLOR = 1 << 4;
+        private static final int THUMB_DRAWABLE = 1 << 5;
+        private static final int THUMB_RADIUS = 1 << 6;
+        private static final int SCROLL_MODE = 1 << 7;
+        private static final int MIN = 1 << 8;
+        private static final int MAX = 1 << 9;
+        private static final int PROGRESS = 1 << 10;
+        private static final int SHOW_TICKS = 1 << 11;
+        private static final int TICK_COLOR = 1 << 12;
+        private static final int PROGRESS_GRADIENT = 1 << 13;
+        private static final int THUMB_COUNT = 1 << 14;
+        private static final int TRIG_MODE = 1 << 15;
+
+        private int mChanges;
+        private float mStartAngle;
+        private float mStrokeWidth;
+        private float mSweepAngle;
+        private int mSweepColor;
+        private boolean mShowTicks;
+        private int mTickColor;
+        private ColorStateList mProgressColor;
+        private int[] mProgressGradient;
+        private Drawable mThumbDrawable;
+        private float mThumbRadius;
+        private int mThumbCount;
+        @ScrollMode
+        private int mScrollMode;
+        @TrigMode
+        private int mTrigMode;
+        private long mMin;
+        private long mMax;
+        private long mProgress;
+        private boolean mAnimate;
+
+        private Editor() {
+        }
+
+        /**
+         * Set the start angle of the arc.
+         *
+         * @param startAngle The start angle.
+         * @return This editor.
+         * @see CircularSeekBar#setStartAngle(float)
+         */
+        @NonNull
+        public Editor startAngle(float startAngle) {
+            mStartAngle = startAngle;
+            mChanges |= START_ANGLE;
+            return this;
+        }
+
+        /**
+         * Set the stroke width of the arc.
+         *
+         * @param strokeWidth The stroke width.
+         * @return This editor.
+         * @see CircularSeekBar#setStrokeWidth(float)
+         */
+        @NonNull
+        public Editor strokeWidth(float strokeWidth) {
+            mStrokeWidth = strokeWidth;
+            mChanges |= STROKE_WIDTH;
+            return this;
+        }
+
+        /**
+         * Set the sweep angle of the arc.
+         *
+         * @param sweepAngle The sweep angle.
+         * @return This editor.
+         * @see CircularSeekBar#setSweepAngle(float)
+         */
+        @NonNull
+        public Editor sweepAngle(float sweepAngle) {
+            mSweepAngle = sweepAngle;
+            mChanges |= SWEEP_ANGLE;
+            return this;
+        }
+
+        /**
+         * Set the sweep color of the arc.
+         *
+         * @param sweepColor The sweep color.
+         * @return This editor.
+         * @see CircularSeekBar#setSweepColor(int)
+         */
+        @NonNull
+        public Editor sweepColor(@ColorInt int sweepColor) {
+            mSweepColor = sweepColor;
+            mChanges |= SWEEP_COLOR;
+            return this;
+        }
+
+        /**
+         * Set whether tick marks are drawn for the progress steps.
+         *
+         * @param showTicks True if ticks should be shown.
+         * @return This editor.
+         * @see CircularSeekBar#setShowTicks(boolean)
+         */
+        @NonNull
+        public Editor showTicks(boolean showTicks) {
+            mShowTicks = showTicks;
+            mChanges |= SHOW_TICKS;
+            return this;
+        }
+
+        /**
+         * Set the color of the tick marks.
+         *
+         * @param tickColor The tick color.
+         * @return This editor.
+         * @see CircularSeekBar#setTickColor(int)
+         */
+        @NonNull
+        public Editor tickColor(@ColorInt int tickColor) {
+            mTickColor = tickColor;
+            mChanges |= TICK_COLOR;
+            return this;
+        }
+
+        /**
+         * Set the progress color state list.
+         *
+         * @param colorStateList The progress color.
+         * @return This editor.
+         * @see CircularSeekBar#setProgressColor(ColorStateList)
+         */
+        @NonNull
+        public Editor progressColor(@Nullable ColorStateList colorStateList) {
+            mProgressColor = colorStateList;
+            mChanges |= PROGRESS_COLOR;
+            return this;
+        }
+
+        /**
+         * Set the progress color.
+         *
+         * @param progressColor The progress color.
+         * @return This editor.
+         * @see CircularSeekBar#setProgressColor(int)
+         */
+        @NonNull
+        public Editor progressColor(@ColorInt int progressColor) {
+            return progressColor(ColorStateList.valueOf(progressColor));
+        }
+
+        /**
+         * Set the progress gradient colors. At least two colors are needed.
+         *
+         * @param colors The gradient colors, or null to use the progress color.
+         * @return This editor.
+         * @see CircularSeekBar#setProgressGradient(int[])
+         */
+        @NonNull
+        public Editor progressGradient(@Nullable @ColorInt int[] colors) {
+            mProgressGradient = colors;
+            mChanges |= PROGRESS_GRADIENT;
+            return this;
+        }
+
+        /**
+         * Set the thumb drawable.
+         *
+         * @param drawable The thumb drawable.
+         * @return This editor.
+         * @see CircularSeekBar#setThumbDrawable(Drawable)
+         */
+        @NonNull
+        public Editor thumbDrawable(@Nullable Drawable drawable) {
+            mThumbDrawable = drawable;
+            mChanges |= THUMB_DRAWABLE;
+            return this;
+        }
+
+        /**
+         * Set the radius of the thumb drawable.
+         *
+         * @param thumbRadius The thumb drawable radius.
+         * @return This editor.
+         * @see CircularSeekBar#setThumbRadius(float)
+         */
+        @NonNull
+        public Editor thumbRadius(float thumbRadius) {
+            mThumbRadius = thumbRadius;
+            mChanges |= THUMB_RADIUS;
+            return this;
+        }
+
+        /**
+         * Set the number of thumbs. This is applied after the range and before the progress.
+         *
+         * @param thumbCount The thumb count, at least 1.
+         * @return This editor.
+         * @see CircularSeekBar#setThumbCount(int)
+         */
+        @NonNull
+        public Editor thumbCount(int thumbCount) {
+            mThumbCount = thumbCount;
+            mChanges |= THUMB_COUNT;
+            return this;
+        }
+
+        /**
+         * Set the scroll mode used for touch events.
+         *
+         * @param scrollMode The scroll mode.
+         * @return This editor.
+         * @see CircularSeekBar#setScrollMode(int)
+         */
+        @NonNull
+        public Editor scrollMode(@ScrollMode int scrollMode) {
+            mScrollMode = scrollMode;
+            mChanges |= SCROLL_MODE;
+            return this;
+        }
+
+        /**
+         * Set the trigonometry mode used to map between angles and points.
+         *
+         * @param trigMode The trigonometry mode.
+         * @return This editor.
+         * @see CircularSeekBar#setTrigMode(int)
+         */
+        @NonNull
+        public Editor trigMode(@TrigMode int trigMode) {
+            mTrigMode = trigMode;
+            mChanges |= TRIG_MODE;
+            return this;
+        }
+
+        /**
+         * Set the min progress.
+         *
+         * @param min The min progress level.
+         * @return This editor.
+         * @see CircularSeekBar#setMin(long)
+         */
+        @NonNull
+        public Editor min(long min) {
+            mMin = min;
+            mChanges |= MIN;
+            return this;
+        }
+
+        /**
+         * Set the max progress.
+         *
+         * @param max The max progress level.
+         * @return This editor.
+         * @see CircularSeekBar#setMax(long)
+         */
+        @NonNull
+        public Editor max(long max) {
+            mMax = max;
+            mChanges |= MAX;
+            return this;
+        }
+
+        /**
+         * Set the current progress.
+         *
+         * @param progress The current progress level.
+         * @return This editor.
+         * @see CircularSeekBar#setProgress(long)
+         */
+        @NonNull
+        public Editor progress(long progress) {
+            return progress(progress, false);
+        }
+
+        /**
+         * Set the current progress.
+         *
+         * @param progress The current progress level.
+         * @param animate  True if it should animate the change.
+         * @return This editor.
+         * @see CircularSeekBar#setProgress(long, boolean)
+         */
+        @NonNull
+        public Editor progress(long progress, boolean animate) {
+            mProgress = progress;
+            mAnimate = animate;
+            mChanges |= PROGRESS;
+            return this;
+        }
+
+        /**
+         * Apply the collected changes to the view. The drawing objects are updated once, no matter
+         * how many properties were changed.
+         */
+        public void apply() {
+            beginBatchEdit();
+
+            try {
+                if ((mChanges & START_ANGLE) != 0) setStartAngle(mStartAngle);
+                if ((mChanges & STROKE_WIDTH) != 0) setStrokeWidth(mStrokeWidth);
+                if ((mChanges & SWEEP_ANGLE) != 0) setSweepAngle(mSweepAngle);
+                if ((mChanges & SWEEP_COLOR) != 0) setSweepColor(mSweepColor);
+                if ((mChanges & SHOW_TICKS) != 0) setShowTicks(mShowTicks);
+                if ((mChanges & TICK_COLOR) != 0) setTickColor(mTickColor);
+                if ((mChanges & PROGRESS_COLOR) != 0) setProgressColor(mProgressColor);
+                if ((mChanges & PROGRESS_GRADIENT) != 0) setProgressGradient(mProgressGradient);
+                if ((mChanges & THUMB_DRAWABLE) != 0) setThumbDrawable(mThumbDrawable);
+                if ((mChanges & THUMB_RADIUS) != 0) setThumbRadius(mThumbRadius);
+                if ((mChanges & TRIG_MODE) != 0) setTrigMode(mTrigMode);
+
+                // Order the range so it isn't clamped
+                if ((mChanges & MIN) != 0 && (mChanges & MAX) != 0 && mMin > getMaxLong()) {
+                    setMax(mMax);
+                    setMin(mMin);
+                } else {
+                    if ((mChanges & MIN) != 0) setMin(mMin);
+                    if ((mChanges & MAX) != 0) setMax(mMax);
+                }
+
+                if ((mChanges & THUMB_COUNT) != 0) setThumbCount(mThumbCount);
+                if ((mChanges & PROGRESS) != 0) setProgress(mProgress, mAnimate);
+                if ((mChanges & SCROLL_MODE) != 0) setScrollMode(mScrollMode);
+            } finally {
+                endBatchEdit();
+            }
+        }
     }
 
     /**
@@ -1206,7 +3270,9 @@ public class CircularSeekBar extends View {
      */
     static class SavedState extends BaseSavedState {
 
-        private float progressAngle;
+        private double progressAngle;
+        private long[] thumbProgress;
+        private int activeThumb;
 
         public SavedState(Parcelable superState) {
             super(superState);
@@ -1214,7 +3280,9 @@ public class CircularSeekBar extends View {
 
         protected SavedState(Parcel in) {
             super(in);
-            progressAngle = in.readFloat();
+            progressAngle = in.readDouble();
+            thumbProgress = in.createLongArray();
+            activeThumb = in.readInt();
         }
 
         public static final Creator<SavedState> CREATOR =
@@ -1238,7 +3306,9 @@ public class CircularSeekBar extends View {
         @Override
         public void writeToParcel(Parcel out, int flags) {
             super.writeToParcel(out, flags);
-            out.writeFloat(progressAngle);
+            out.writeDouble(progressAngle);
+            out.writeLongArray(thumbProgress);
+            out.writeInt(activeThumb);
         }
     }
 }
\ No newline at end of file
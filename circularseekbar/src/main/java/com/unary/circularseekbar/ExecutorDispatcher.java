@@ -0,0 +1,130 @@
+/*
+ * Copyright 2020 Christopher Zaborsky
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.unary.circularseekbar;
+
+import androidx.annotation.NonNull;
+
+import java.util.concurrent.Executor;
+
+/**
+ * Hands onProgressChanged updates to an executor. Only the latest pending update is kept, along
+ * with any pending finished update, so at most one task is queued no matter how slow the listener.
+ */
+final class ExecutorDispatcher implements Runnable {
+
+    private final CircularSeekBar mSeekBar;
+    private final CircularSeekBar.OnProgressChangeListener mListener;
+    private final Executor mExecutor;
+    private final Object mLock = new Object();
+
+    private boolean mScheduled;
+    private boolean mPending;
+    private int mProgress;
+    private boolean mFinishedPending;
+    private int mFinishedProgress;
+
+    /**
+     * Constructor for the executor dispatcher.
+     *
+     * @param seekBar  SeekBar object that initiates the changes.
+     * @param listener SeekBar notification listener.
+     * @param executor Executor to call the listener on.
+     */
+    ExecutorDispatcher(@NonNull CircularSeekBar seekBar, @NonNull CircularSeekBar.OnProgressChangeListener listener, @NonNull Executor executor) {
+        mSeekBar = seekBar;
+        mListener = listener;
+        mExecutor = executor;
+    }
+
+    /**
+     * Queue a progress update. A finished update replaces any earlier pending update, while other
+     * updates are only conflated with each other.
+     *
+     * @param progress The updated progress.
+     * @param finished True if the touch event has ended.
+     */
+    void post(int progress, boolean finished) {
+        boolean execute;
+
+        synchronized (mLock) {
+            if (finished) {
+                mFinishedPending = true;
+                mFinishedProgress = progress;
+                mPending = false;
+            } else {
+                mPending = true;
+                mProgress = progress;
+            }
+
+            execute = !mScheduled;
+            mScheduled = true;
+        }
+
+        if (execute) {
+            try {
+                mExecutor.execute(this);
+            } catch (RuntimeException e) {
+                synchronized (mLock) {
+                    mScheduled = false;
+                }
+
+                throw e;
+            }
+        }
+    }
+
+    @Override
+    public void run() {
+        while (true) {
+            boolean finishedPending;
+            int finishedProgress;
+            boolean pending;
+            int progress;
+
+            synchronized (mLock) {
+                if (!mFinishedPending && !mPending) {
+                    mScheduled = false;
+                    return;
+                }
+
+                finishedPending = mFinishedPending;
+                finishedProgress = mFinishedProgress;
+                pending = mPending;
+                progress = mProgress;
+
+                mFinishedPending = false;
+                mPending = false;
+            }
+
+            try {
+                // Finished comes before any newer update
+                if (finishedPending) {
+                    mListener.onProgressChanged(mSeekBar, finishedProgress, true);
+                }
+
+                if (pending) {
+                    mListener.onProgressChanged(mSeekBar, progress, false);
+                }
+            } catch (RuntimeException e) {
+                synchronized (mLock) {
+                    mScheduled = false;
+                }
+
+                throw e;
+            }
+        }
+    }
+}
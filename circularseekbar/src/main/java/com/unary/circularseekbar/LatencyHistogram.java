@@ -0,0 +1,192 @@
+/*
+ * Copyright 2020 Christopher Zaborsky
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.unary.circularseekbar;
+
+import androidx.annotation.NonNull;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A histogram of latencies in milliseconds with fixed buckets. Recording does not allocate, and
+ * values can be read or reset from any thread. Percentiles are reported as the upper bound of the
+ * bucket they fall in.
+ */
+public final class LatencyHistogram {
+
+    private static final long[] BOUNDS = {1, 2, 3, 4, 5, 6, 8, 10, 12, 14, 16, 20, 25, 33, 50, 67, 100, 150, 250, 500, 1000, Long.MAX_VALUE};
+
+    private final AtomicLongArray mCounts = new AtomicLongArray(BOUNDS.length);
+    private final AtomicLong mCount = new AtomicLong();
+    private final AtomicLong mSum = new AtomicLong();
+    private final AtomicLong mMax = new AtomicLong();
+
+    /**
+     * Get the number of buckets. The last bucket holds every latency over one second.
+     *
+     * @return The bucket count.
+     */
+    public int getBucketCount() {
+        return BOUNDS.length;
+    }
+
+    /**
+     * Get the inclusive upper bound of a bucket.
+     *
+     * @param index The bucket index.
+     * @return The upper bound in milliseconds.
+     */
+    public long getBucketBound(int index) {
+        return BOUNDS[index];
+    }
+
+    /**
+     * Get the number of latencies recorded in a bucket.
+     *
+     * @param index The bucket index.
+     * @return The bucket count.
+     */
+    public long getBucketValue(int index) {
+        return mCounts.get(index);
+    }
+
+    /**
+     * Get the number of latencies recorded.
+     *
+     * @return The total count.
+     */
+    public long getCount() {
+        return mCount.get();
+    }
+
+    /**
+     * Get the mean latency.
+     *
+     * @return The mean in milliseconds, or 0 if none are recorded.
+     */
+    public double getMean() {
+        long count = mCount.get();
+        return count == 0 ? 0 : (double) mSum.get() / count;
+    }
+
+    /**
+     * Get the largest latency recorded.
+     *
+     * @return The max in milliseconds.
+     */
+    public long getMax() {
+        return mMax.get();
+    }
+
+    /**
+     * Find a percentile of the recorded latencies. This is the upper bound of the bucket the
+     * percentile falls in, limited to the max latency.
+     *
+     * @param percentile The percentile, between 0 and 100.
+     * @return The latency in milliseconds, or 0 if none are recorded.
+     */
+    public long getPercentile(double percentile) {
+        long count = 0;
+
+        for (int i = 0; i < BOUNDS.length; i++) {
+            count += mCounts.get(i);
+        }
+
+        if (count == 0) {
+            return 0;
+        }
+
+        // Rank of the percentile
+        long rank = Math.max((long) Math.ceil(count * Math.min(Math.max(percentile, 0), 100) / 100), 1);
+
+        for (int i = 0; i < BOUNDS.length; i++) {
+            rank -= mCounts.get(i);
+
+            if (rank <= 0) {
+                return Math.min(BOUNDS[i], mMax.get());
+            }
+        }
+
+        return mMax.get();
+    }
+
+    /**
+     * Reset all of the recorded latencies.
+     */
+    public void reset() {
+        for (int i = 0; i < BOUNDS.length; i++) {
+            mCounts.set(i, 0);
+        }
+
+        mCount.set(0);
+        mSum.set(0);
+        mMax.set(0);
+    }
+
+    /**
+     * Copy the recorded latencies into a new histogram. The copy is not updated by later records,
+     * so it can be reported while this one keeps recording or is reset.
+     *
+     * @return The snapshot.
+     */
+    @NonNull
+    public LatencyHistogram snapshot() {
+        LatencyHistogram histogram = new LatencyHistogram();
+
+        for (int i = 0; i < BOUNDS.length; i++) {
+            histogram.mCounts.set(i, mCounts.get(i));
+        }
+
+        histogram.mCount.set(mCount.get());
+        histogram.mSum.set(mSum.get());
+        histogram.mMax.set(mMax.get());
+
+        return histogram;
+    }
+
+    /**
+     * Record a latency. Negative values are counted as zero.
+     *
+     * @param millis The latency in milliseconds.
+     */
+    void record(long millis) {
+        millis = Math.max(millis, 0);
+
+        int low = 0;
+        int high = BOUNDS.length - 1;
+
+        // First bound at or above it
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+
+            if (BOUNDS[mid] < millis) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+
+        mCounts.incrementAndGet(low);
+        mCount.incrementAndGet();
+        mSum.addAndGet(millis);
+
+        long max = mMax.get();
+
+        while (millis > max && !mMax.compareAndSet(max, millis)) {
+            max = mMax.get();
+        }
+    }
+}
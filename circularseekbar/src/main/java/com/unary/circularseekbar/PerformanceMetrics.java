@@ -0,0 +1,116 @@
+/*
+ * Copyright 2020 Christopher Zaborsky
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.unary.circularseekbar;
+
+import androidx.annotation.IntDef;
+import androidx.annotation.NonNull;
+
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Counts and cumulative times for the work done by a CircularSeekBar. An instance can be set on a
+ * single view or globally, and may be shared between views. Values can be read from any thread.
+ */
+public final class PerformanceMetrics {
+
+    private static final String[] SECTION_NAMES = {"CircularSeekBar#onDraw", "CircularSeekBar#onTouchEvent",
+            "CircularSeekBar#onUpdateDrawableState", "CircularSeekBar#listener", "CircularSeekBar#onAnimationFrame"};
+
+    private final AtomicLongArray mCounts = new AtomicLongArray(SECTION_NAMES.length);
+    private final AtomicLongArray mNanos = new AtomicLongArray(SECTION_NAMES.length);
+
+    /**
+     * Annotation for the Section typedef. This is the kind of work that was measured.
+     */
+    @Retention(RetentionPolicy.SOURCE)
+    @IntDef({Section.DRAW, Section.TOUCH, Section.UPDATE, Section.LISTENER, Section.FRAME})
+    public @interface Section {
+        /**
+         * Drawing the view in onDraw().
+         */
+        int DRAW = 0;
+        /**
+         * Handling a touch event in onTouchEvent().
+         */
+        int TOUCH = 1;
+        /**
+         * Updating the drawing objects in onUpdateDrawableState().
+         */
+        int UPDATE = 2;
+        /**
+         * Calling the progress listeners and subscribers.
+         */
+        int LISTENER = 3;
+        /**
+         * Advancing the progress animation for a frame.
+         */
+        int FRAME = 4;
+    }
+
+    /**
+     * Get the number of times a section has run.
+     *
+     * @param section The measured section.
+     * @return The count.
+     */
+    public long getCount(@Section int section) {
+        return mCounts.get(section);
+    }
+
+    /**
+     * Get the cumulative time spent in a section.
+     *
+     * @param section The measured section.
+     * @return The time in nanoseconds.
+     */
+    public long getNanos(@Section int section) {
+        return mNanos.get(section);
+    }
+
+    /**
+     * Reset all of the counts and times to zero.
+     */
+    public void reset() {
+        for (int i = 0; i < SECTION_NAMES.length; i++) {
+            mCounts.set(i, 0);
+            mNanos.set(i, 0);
+        }
+    }
+
+    /**
+     * Record a run of a section.
+     *
+     * @param section The measured section.
+     * @param nanos   Time taken in nanoseconds.
+     */
+    void record(@Section int section, long nanos) {
+        mCounts.incrementAndGet(section);
+        mNanos.addAndGet(section, nanos);
+    }
+
+    /**
+     * Get the trace section name of a section.
+     *
+     * @param section The measured section.
+     * @return The section name.
+     */
+    @NonNull
+    static String getSectionName(@Section int section) {
+        return SECTION_NAMES[section];
+    }
+}
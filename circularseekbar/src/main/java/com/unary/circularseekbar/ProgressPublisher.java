@@ -0,0 +1,277 @@
+/*
+ * Copyright 2020 Christopher Zaborsky
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.unary.circularseekbar;
+
+import androidx.annotation.IntDef;
+import androidx.annotation.NonNull;
+
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+
+/**
+ * A stream of the progress changes of a CircularSeekBar. This follows the shape of
+ * java.util.concurrent.Flow, which is not available before API 30. Subscribers signal demand and
+ * only receive the latest event while they are behind, so no events are buffered or allocated.
+ * Finished events are never conflated.
+ */
+public final class ProgressPublisher {
+
+    private static final Subscription[] EMPTY = new Subscription[0];
+
+    private final CircularSeekBar mSeekBar;
+    private volatile Subscription[] mSubscriptions = EMPTY;
+
+    /**
+     * Annotation for the Event typedef. This is the kind of change that is being delivered.
+     */
+    @Retention(RetentionPolicy.SOURCE)
+    @IntDef({Event.CHANGING, Event.VETOED, Event.CHANGED, Event.FINISHED})
+    public @interface Event {
+        /**
+         * The progress is changing and the change was accepted.
+         */
+        int CHANGING = 0;
+        /**
+         * The progress was changing, but the change was vetoed by a listener.
+         */
+        int VETOED = 1;
+        /**
+         * The progress level has changed.
+         */
+        int CHANGED = 2;
+        /**
+         * The progress level has changed and the touch event has ended.
+         */
+        int FINISHED = 3;
+    }
+
+    /**
+     * Interface to receive the progress stream. This mirrors Flow.Subscriber, with the event passed
+     * as primitives instead of an item object.
+     */
+    public interface Subscriber {
+
+        /**
+         * Notification that the subscription has started. No events are delivered until demand has
+         * been requested from it.
+         *
+         * @param subscription The new subscription.
+         */
+        void onSubscribe(@NonNull Subscription subscription);
+
+        /**
+         * Notification of a progress event. This is called on the UI thread, or on the thread that
+         * requested demand if an event was waiting for it.
+         *
+         * @param seekBar  SeekBar object that initiated the change.
+         * @param progress The progress level.
+         * @param event    The kind of change.
+         */
+        void onNext(@NonNull CircularSeekBar seekBar, long progress, @Event int event);
+    }
+
+    /**
+     * Inner class linking a subscriber to the publisher. This mirrors Flow.Subscription.
+     */
+    public final class Subscription {
+
+        private final Subscriber mSubscriber;
+        private final Object mLock = new Object();
+
+        private long mDemand;
+        private boolean mDraining;
+        private boolean mCancelled;
+        private boolean mPending;
+        private long mProgress;
+        private int mEvent;
+        private boolean mFinishedPending;
+        private long mFinishedProgress;
+
+        private Subscription(@NonNull Subscriber subscriber) {
+            mSubscriber = subscriber;
+        }
+
+        /**
+         * Add demand for the given number of events. Any waiting event is delivered on the calling
+         * thread.
+         *
+         * @param n Number of events, greater than zero.
+         */
+        public void request(long n) {
+            if (n <= 0) {
+                throw new IllegalArgumentException("Demand must be positive");
+            }
+
+            synchronized (mLock) {
+                mDemand = mDemand + n < 0 ? Long.MAX_VALUE : mDemand + n;
+            }
+
+            drain();
+        }
+
+        /**
+         * Cancel the subscription. No further events are delivered.
+         */
+        public void cancel() {
+            synchronized (mLock) {
+                mCancelled = true;
+                mPending = false;
+                mFinishedPending = false;
+            }
+
+            remove(this);
+        }
+
+        /**
+         * Replace the waiting event with a newer one. A waiting finished event is kept and delivered
+         * first.
+         *
+         * @param progress The progress level.
+         * @param event    The kind of change.
+         */
+        private void offer(long progress, @Event int event) {
+            synchronized (mLock) {
+                if (mCancelled) {
+                    return;
+                }
+
+                if (event == Event.FINISHED) {
+                    mFinishedPending = true;
+                    mFinishedProgress = progress;
+                    mPending = false;
+                } else {
+                    mPending = true;
+                    mProgress = progress;
+                    mEvent = event;
+                }
+            }
+
+            drain();
+        }
+
+        /**
+         * Deliver waiting events while there is demand. Only one thread delivers at a time.
+         */
+        private void drain() {
+            while (true) {
+                long progress;
+                int event;
+
+                synchronized (mLock) {
+                    if (mDraining || mDemand == 0 || mCancelled || (!mFinishedPending && !mPending)) {
+                        return;
+                    }
+
+                    if (mFinishedPending) {
+                        progress = mFinishedProgress;
+                        event = Event.FINISHED;
+                        mFinishedPending = false;
+                    } else {
+                        progress = mProgress;
+                        event = mEvent;
+                        mPending = false;
+                    }
+
+                    if (mDemand != Long.MAX_VALUE) {
+                        mDemand--;
+                    }
+
+                    mDraining = true;
+                }
+
+                try {
+                    mSubscriber.onNext(mSeekBar, progress, event);
+                } finally {
+                    synchronized (mLock) {
+                        mDraining = false;
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Constructor for the progress publisher.
+     *
+     * @param seekBar SeekBar object that initiates the changes.
+     */
+    ProgressPublisher(@NonNull CircularSeekBar seekBar) {
+        mSeekBar = seekBar;
+    }
+
+    /**
+     * Subscribe to the progress stream. The subscriber is given its subscription before any events
+     * are delivered.
+     *
+     * @param subscriber The subscriber.
+     */
+    public void subscribe(@NonNull Subscriber subscriber) {
+        Subscription subscription = new Subscription(subscriber);
+
+        synchronized (this) {
+            Subscription[] subscriptions = new Subscription[mSubscriptions.length + 1];
+            System.arraycopy(mSubscriptions, 0, subscriptions, 0, mSubscriptions.length);
+            subscriptions[mSubscriptions.length] = subscription;
+
+            mSubscriptions = subscriptions;
+        }
+
+        subscriber.onSubscribe(subscription);
+    }
+
+    /**
+     * Check if there are any subscribers.
+     *
+     * @return True if there is at least one subscription.
+     */
+    boolean hasSubscribers() {
+        return mSubscriptions.length > 0;
+    }
+
+    /**
+     * Publish an event to all of the subscriptions.
+     *
+     * @param progress The progress level.
+     * @param event    The kind of change.
+     */
+    void publish(long progress, @Event int event) {
+        Subscription[] subscriptions = mSubscriptions;
+
+        for (Subscription subscription : subscriptions) {
+            subscription.offer(progress, event);
+        }
+    }
+
+    /**
+     * Remove a cancelled subscription.
+     *
+     * @param subscription The subscription.
+     */
+    private synchronized void remove(@NonNull Subscription subscription) {
+        int length = mSubscriptions.length;
+
+        for (int i = 0; i < length; i++) {
+            if (mSubscriptions[i] == subscription) {
+                Subscription[] subscriptions = length == 1 ? EMPTY : new Subscription[length - 1];
+                System.arraycopy(mSubscriptions, 0, subscriptions, 0, i);
+                System.arraycopy(mSubscriptions, i + 1, subscriptions, i, length - i - 1);
+
+                mSubscriptions = subscriptions;
+                return;
+            }
+        }
+    }
+}
@@ -0,0 +1,141 @@
+/*
+ * Copyright 2020 Christopher Zaborsky
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.unary.circularseekbar;
+
+import android.graphics.Canvas;
+import android.graphics.RenderNode;
+import android.graphics.drawable.Drawable;
+import android.os.Build;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.RequiresApi;
+
+/**
+ * Keeps the track and thumb in their own RenderNodes. The track is only recorded when it changes,
+ * and the thumb is recorded once and moved by updating its position, so an animation frame does
+ * not record either display list again.
+ */
+@RequiresApi(api = Build.VERSION_CODES.Q)
+final class RenderNodeLayer {
+
+    private final RenderNode mTrackNode = new RenderNode("CircularSeekBar:track");
+    private final RenderNode mThumbNode = new RenderNode("CircularSeekBar:thumb");
+    private boolean mTrackDirty = true;
+    private boolean mThumbDirty = true;
+    private int mThumbWidth;
+    private int mThumbHeight;
+
+    /**
+     * Mark the track to be recorded again on the next draw.
+     */
+    void invalidateTrack() {
+        mTrackDirty = true;
+    }
+
+    /**
+     * Mark the thumb to be recorded again on the next draw.
+     */
+    void invalidateThumb() {
+        mThumbDirty = true;
+    }
+
+    /**
+     * Check if the track must be recorded again before it is drawn.
+     *
+     * @param width  Width of the view.
+     * @param height Height of the view.
+     * @return True if the track is dirty or has been resized.
+     */
+    boolean isTrackDirty(int width, int height) {
+        return mTrackDirty || mTrackNode.getWidth() != width || mTrackNode.getHeight() != height;
+    }
+
+    /**
+     * Start recording the track. It covers the view and must be finished with endTrack().
+     *
+     * @param width  Width of the view.
+     * @param height Height of the view.
+     * @return The recording canvas.
+     */
+    @NonNull
+    Canvas beginTrack(int width, int height) {
+        mTrackNode.setPosition(0, 0, width, height);
+        return mTrackNode.beginRecording(width, height);
+    }
+
+    /**
+     * Finish recording the track.
+     */
+    void endTrack() {
+        mTrackNode.endRecording();
+        mTrackDirty = false;
+    }
+
+    /**
+     * Draw the recorded track.
+     *
+     * @param canvas Hardware accelerated canvas to draw on.
+     */
+    void drawTrack(@NonNull Canvas canvas) {
+        canvas.drawRenderNode(mTrackNode);
+    }
+
+    /**
+     * Draw the thumb at the given bounds. The drawable is only recorded if it is dirty or has been
+     * resized, otherwise only the node position is updated. The drawable keeps its bounds in view
+     * coordinates, so hotspots and invalidation still match where it is drawn.
+     *
+     * @param canvas   Hardware accelerated canvas to draw on.
+     * @param drawable The thumb drawable.
+     * @param left     Left of the thumb.
+     * @param top      Top of the thumb.
+     * @param right    Right of the thumb.
+     * @param bottom   Bottom of the thumb.
+     */
+    void drawThumb(@NonNull Canvas canvas, @NonNull Drawable drawable, int left, int top, int right, int bottom) {
+        int width = right - left;
+        int height = bottom - top;
+
+        drawable.setBounds(left, top, right, bottom);
+
+        if (mThumbDirty || width != mThumbWidth || height != mThumbHeight) {
+            mThumbWidth = width;
+            mThumbHeight = height;
+
+            // Record relative to the node
+            Canvas recordingCanvas = mThumbNode.beginRecording(width, height);
+            recordingCanvas.translate(-left, -top);
+            drawable.draw(recordingCanvas);
+            mThumbNode.endRecording();
+
+            mThumbDirty = false;
+        }
+
+        mThumbNode.setPosition(left, top, right, bottom);
+        canvas.drawRenderNode(mThumbNode);
+    }
+
+    /**
+     * Release the display lists. They are recorded again on the next draw.
+     */
+    void discard() {
+        mTrackNode.discardDisplayList();
+        mThumbNode.discardDisplayList();
+
+        mTrackDirty = true;
+        mThumbDirty = true;
+    }
+}
@@ -0,0 +1,105 @@
+/*
+ * Copyright 2020 Christopher Zaborsky
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.unary.circularseekbar;
+
+import androidx.annotation.NonNull;
+
+/**
+ * A sequence lock around the published progress state. The UI thread is the only writer, while any
+ * number of threads can read a consistent copy without locking or allocating.
+ */
+final class SnapshotState {
+
+    private volatile int mSequence;
+    private volatile long mProgress;
+    private volatile double mAngle;
+    private volatile boolean mPressed;
+    private volatile boolean mFinished;
+
+    /**
+     * Publish a new state. This must only be called from a single writer thread.
+     *
+     * @param progress The current progress level.
+     * @param angle    The current progress angle.
+     * @param pressed  True if the view is pressed.
+     * @param finished True if the progress has settled.
+     */
+    void publish(long progress, double angle, boolean pressed, boolean finished) {
+        if (progress == mProgress && angle == mAngle && pressed == mPressed && finished == mFinished) {
+            return;
+        }
+
+        int sequence = mSequence;
+
+        // Odd while writing
+        mSequence = sequence + 1;
+
+        mProgress = progress;
+        mAngle = angle;
+        mPressed = pressed;
+        mFinished = finished;
+
+        mSequence = sequence + 2;
+    }
+
+    /**
+     * Read a consistent copy of the state. This retries if a write is in progress, and only hands
+     * the values to the reader once they are known to be consistent.
+     *
+     * @param target Object the copy is written to.
+     * @param reader Reader to write the copy with.
+     * @param <T>    Type of the target.
+     */
+    <T> void read(@NonNull T target, @NonNull Reader<T> reader) {
+        while (true) {
+            int sequence = mSequence;
+
+            if ((sequence & 1) == 0) {
+                long progress = mProgress;
+                double angle = mAngle;
+                boolean pressed = mPressed;
+                boolean finished = mFinished;
+
+                if (sequence == mSequence) {
+                    reader.onRead(target, progress, angle, pressed, finished);
+                    return;
+                }
+            }
+
+            Thread.yield();
+        }
+    }
+
+    /**
+     * Interface to write a consistent copy of the state to a target object. A single instance can
+     * serve every target, so reading doesn't allocate.
+     *
+     * @param <T> Type of the target.
+     */
+    interface Reader<T> {
+
+        /**
+         * Write a consistent copy of the state.
+         *
+         * @param target   Object the copy is written to.
+         * @param progress The progress level.
+         * @param angle    The progress angle.
+         * @param pressed  True if the view is pressed.
+         * @param finished True if the progress has settled.
+         */
+        void onRead(@NonNull T target, long progress, double angle, boolean pressed, boolean finished);
+    }
+}
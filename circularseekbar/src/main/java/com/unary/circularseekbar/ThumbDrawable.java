@@ -0,0 +1,326 @@
+/*
+ * Copyright 2020 Christopher Zaborsky
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.unary.circularseekbar;
+
+import android.content.res.ColorStateList;
+import android.content.res.Resources;
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.graphics.ColorFilter;
+import android.graphics.Paint;
+import android.graphics.PixelFormat;
+import android.graphics.PorterDuff;
+import android.graphics.PorterDuffColorFilter;
+import android.graphics.Rect;
+import android.graphics.RectF;
+import android.graphics.drawable.Drawable;
+
+import androidx.annotation.ColorInt;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+/**
+ * The default thumb. The ambient shadow, key shadow and body ovals are rendered once into a bitmap
+ * for each size, so drawing the thumb is a single bitmap draw instead of one draw per layer. It
+ * matches the nested insets of the LayerDrawable it replaces. Setting a tint mutates the drawable
+ * first, so it never reaches other thumbs sharing the state.
+ */
+final class ThumbDrawable extends Drawable {
+
+    private static final int AMBIENT_COLOR = 0x10000000;
+    private static final int KEY_COLOR = 0x20000000;
+
+    private final Paint mPaint = new Paint(Paint.FILTER_BITMAP_FLAG);
+    private ThumbState mState;
+    private Bitmap mBitmap;
+    private ColorFilter mColorFilter;
+    private PorterDuffColorFilter mTintFilter;
+    private int mTintColor;
+    private PorterDuff.Mode mTintMode;
+    private boolean mMutated;
+
+    /**
+     * Constructor for the thumb drawable.
+     *
+     * @param padding Pixel size of one density pixel. This sets the shadow offsets.
+     * @param color   Color of the thumb body.
+     */
+    ThumbDrawable(int padding, @ColorInt int color) {
+        this(new ThumbState(padding, color));
+    }
+
+    /**
+     * Constructor for a thumb drawable sharing a constant state.
+     *
+     * @param state The constant state.
+     */
+    private ThumbDrawable(@NonNull ThumbState state) {
+        mState = state;
+        mBitmap = state.getBitmap();
+
+        updateTintFilter();
+    }
+
+    @Override
+    public void draw(@NonNull Canvas canvas) {
+        Rect bounds = getBounds();
+
+        if (bounds.isEmpty()) {
+            return;
+        }
+
+        int width = bounds.width();
+        int height = bounds.height();
+
+        // Render once per size
+        if (mBitmap == null || mBitmap.getWidth() != width || mBitmap.getHeight() != height) {
+            mBitmap = mState.obtainBitmap(width, height);
+        }
+
+        mPaint.setColorFilter(mColorFilter != null ? mColorFilter : mTintFilter);
+        canvas.drawBitmap(mBitmap, bounds.left, bounds.top, mPaint);
+    }
+
+    @Override
+    public void setAlpha(int alpha) {
+        if (alpha != mPaint.getAlpha()) {
+            mPaint.setAlpha(alpha);
+            invalidateSelf();
+        }
+    }
+
+    @Override
+    public int getAlpha() {
+        return mPaint.getAlpha();
+    }
+
+    @Override
+    public void setColorFilter(@Nullable ColorFilter colorFilter) {
+        mColorFilter = colorFilter;
+        invalidateSelf();
+    }
+
+    @Nullable
+    @Override
+    public ColorFilter getColorFilter() {
+        return mColorFilter;
+    }
+
+    @Override
+    public void setTintList(@Nullable ColorStateList tint) {
+        // Don't change the shared state
+        mutate();
+        mState.mTint = tint;
+
+        if (updateTintFilter()) {
+            invalidateSelf();
+        }
+    }
+
+    @Override
+    public void setTintMode(@Nullable PorterDuff.Mode tintMode) {
+        mutate();
+        mState.mTintMode = tintMode != null ? tintMode : PorterDuff.Mode.SRC_IN;
+
+        if (updateTintFilter()) {
+            invalidateSelf();
+        }
+    }
+
+    @Override
+    public boolean isStateful() {
+        return mState.mTint != null && mState.mTint.isStateful();
+    }
+
+    @Override
+    protected boolean onStateChange(int[] state) {
+        return updateTintFilter();
+    }
+
+    @Override
+    public int getOpacity() {
+        return PixelFormat.TRANSLUCENT;
+    }
+
+    @NonNull
+    @Override
+    public Drawable mutate() {
+        if (!mMutated && super.mutate() == this) {
+            mState = new ThumbState(mState);
+            mMutated = true;
+        }
+
+        return this;
+    }
+
+    @Nullable
+    @Override
+    public ConstantState getConstantState() {
+        return mState;
+    }
+
+    /**
+     * Update the tint filter for the current drawable state.
+     *
+     * @return True if the filter has changed.
+     */
+    private boolean updateTintFilter() {
+        ColorStateList tint = mState.mTint;
+
+        if (tint == null) {
+            boolean changed = mTintFilter != null;
+            mTintFilter = null;
+
+            return changed;
+        }
+
+        int color = tint.getColorForState(getState(), tint.getDefaultColor());
+
+        if (mTintFilter != null && color == mTintColor && mState.mTintMode == mTintMode) {
+            return false;
+        }
+
+        mTintColor = color;
+        mTintMode = mState.mTintMode;
+        mTintFilter = new PorterDuffColorFilter(color, mTintMode);
+
+        return true;
+    }
+
+    /**
+     * Inner class holding the shared state of the thumb. The last bitmap rendered is kept in a cache
+     * that copies of the state also share, so mutated thumbs of the same size still share it.
+     */
+    static final class ThumbState extends ConstantState {
+
+        private final int mPadding;
+        private final int mColor;
+        private final BitmapCache mBitmapCache;
+        private ColorStateList mTint;
+        private PorterDuff.Mode mTintMode = PorterDuff.Mode.SRC_IN;
+
+        /**
+         * Constructor for the thumb state.
+         *
+         * @param padding Pixel size of one density pixel.
+         * @param color   Color of the thumb body.
+         */
+        ThumbState(int padding, @ColorInt int color) {
+            mPadding = padding;
+            mColor = color;
+            mBitmapCache = new BitmapCache();
+        }
+
+        /**
+         * Constructor copying another thumb state. The rendered bitmap is still shared.
+         *
+         * @param state The thumb state to copy.
+         */
+        ThumbState(@NonNull ThumbState state) {
+            mPadding = state.mPadding;
+            mColor = state.mColor;
+            mTint = state.mTint;
+            mTintMode = state.mTintMode;
+            mBitmapCache = state.mBitmapCache;
+        }
+
+        /**
+         * Find a rendered bitmap of the given size. A new one is rendered if the last one is a
+         * different size.
+         *
+         * @param width  Width of the thumb.
+         * @param height Height of the thumb.
+         * @return The rendered bitmap.
+         */
+        @NonNull
+        Bitmap obtainBitmap(int width, int height) {
+            Bitmap bitmap = mBitmapCache.mBitmap;
+
+            if (bitmap == null || bitmap.getWidth() != width || bitmap.getHeight() != height) {
+                bitmap = createBitmap(width, height);
+                mBitmapCache.mBitmap = bitmap;
+            }
+
+            return bitmap;
+        }
+
+        /**
+         * Get the last bitmap rendered by this state or any of its copies.
+         *
+         * @return The rendered bitmap, or null if none has been rendered.
+         */
+        @Nullable
+        Bitmap getBitmap() {
+            return mBitmapCache.mBitmap;
+        }
+
+        /**
+         * Render the shadows and body into a new bitmap. Each oval is inset by the padding of the
+         * ones beneath it.
+         *
+         * @param width  Width of the thumb.
+         * @param height Height of the thumb.
+         * @return The rendered bitmap.
+         */
+        @NonNull
+        private Bitmap createBitmap(int width, int height) {
+            Bitmap bitmap = Bitmap.createBitmap(width, height, Bitmap.Config.ARGB_8888);
+            Canvas canvas = new Canvas(bitmap);
+            Paint paint = new Paint(Paint.ANTI_ALIAS_FLAG);
+            RectF rectF = new RectF();
+            int px = mPadding;
+
+            rectF.set(px, px, width - px, height);
+            paint.setColor(AMBIENT_COLOR);
+            canvas.drawOval(rectF, paint);
+
+            rectF.set(px * 2, px * 2, width - px * 2, height - px);
+            paint.setColor(KEY_COLOR);
+            canvas.drawOval(rectF, paint);
+
+            rectF.set(px * 2, px * 2, width - px * 2, height - px * 2);
+            paint.setColor(mColor);
+            canvas.drawOval(rectF, paint);
+
+            return bitmap;
+        }
+
+        @NonNull
+        @Override
+        public Drawable newDrawable() {
+            return new ThumbDrawable(this);
+        }
+
+        @NonNull
+        @Override
+        public Drawable newDrawable(@Nullable Resources res) {
+            return new ThumbDrawable(this);
+        }
+
+        @Override
+        public int getChangingConfigurations() {
+            return 0;
+        }
+    }
+
+    /**
+     * Inner class holding the last bitmap rendered. The bitmap is never drawn to once rendered.
+     */
+    private static final class BitmapCache {
+
+        private Bitmap mBitmap;
+    }
+}
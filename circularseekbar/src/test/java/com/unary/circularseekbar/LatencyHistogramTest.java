@@ -0,0 +1,91 @@
+package com.unary.circularseekbar;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Local unit test for the latency histogram, which will execute on the development machine (host).
+ */
+public class LatencyHistogramTest {
+
+    @Test
+    public void record_findsInclusiveBucket() {
+        LatencyHistogram histogram = new LatencyHistogram();
+
+        histogram.record(-3);
+        histogram.record(1);
+        histogram.record(7);
+        histogram.record(8);
+        histogram.record(9);
+        histogram.record(5000);
+
+        assertEquals(2, histogram.getBucketValue(indexOf(histogram, 1)));
+        assertEquals(2, histogram.getBucketValue(indexOf(histogram, 8)));
+        assertEquals(1, histogram.getBucketValue(indexOf(histogram, 10)));
+        assertEquals(1, histogram.getBucketValue(histogram.getBucketCount() - 1));
+        assertEquals(6, histogram.getCount());
+        assertEquals(5000, histogram.getMax());
+        assertEquals((1 + 7 + 8 + 9 + 5000) / 6d, histogram.getMean(), 1e-9);
+    }
+
+    @Test
+    public void percentile_isBucketBound() {
+        LatencyHistogram histogram = new LatencyHistogram();
+
+        for (int i = 1; i <= 100; i++) {
+            histogram.record(i);
+        }
+
+        histogram.record(5000);
+
+        assertEquals(1, histogram.getPercentile(0));
+        assertEquals(67, histogram.getPercentile(50));
+        assertEquals(100, histogram.getPercentile(99));
+        assertEquals(5000, histogram.getPercentile(100));
+        assertEquals(5000, histogram.getPercentile(150));
+    }
+
+    @Test
+    public void percentile_isLimitedToMax() {
+        LatencyHistogram histogram = new LatencyHistogram();
+
+        histogram.record(11);
+        histogram.record(11);
+
+        assertEquals(11, histogram.getPercentile(50));
+        assertEquals(0, new LatencyHistogram().getPercentile(50));
+    }
+
+    @Test
+    public void snapshot_isDetached() {
+        LatencyHistogram histogram = new LatencyHistogram();
+
+        histogram.record(4);
+        LatencyHistogram snapshot = histogram.snapshot();
+        histogram.reset();
+        histogram.record(40);
+
+        assertEquals(1, snapshot.getCount());
+        assertEquals(4, snapshot.getMax());
+        assertEquals(1, histogram.getCount());
+        assertEquals(40, histogram.getMax());
+    }
+
+    /**
+     * Find the bucket with the given upper bound.
+     *
+     * @param histogram The histogram.
+     * @param bound     The upper bound.
+     * @return The bucket index.
+     */
+    private static int indexOf(LatencyHistogram histogram, long bound) {
+        for (int i = 0; i < histogram.getBucketCount(); i++) {
+            if (histogram.getBucketBound(i) == bound) {
+                return i;
+            }
+        }
+
+        throw new AssertionError("No bucket bound " + bound);
+    }
+}
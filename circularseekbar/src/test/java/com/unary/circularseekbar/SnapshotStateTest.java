@@ -0,0 +1,109 @@
+package com.unary.circularseekbar;
+
+import org.junit.Test;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.Assert.*;
+
+/**
+ * Local stress test for the progress snapshot, which will execute on the development machine
+ * (host). One writer simulates a drag while many readers check that no snapshot is ever torn.
+ */
+public class SnapshotStateTest {
+
+    private static final int READERS = 8;
+    private static final int WRITES = 2000000;
+
+    private static final SnapshotState.Reader<long[]> READER = new SnapshotState.Reader<long[]>() {
+        @Override
+        public void onRead(long[] target, long progress, double angle, boolean pressed, boolean finished) {
+            target[0] = progress;
+            target[1] = Double.doubleToLongBits(angle);
+            target[2] = pressed ? 1 : 0;
+            target[3] = finished ? 1 : 0;
+        }
+    };
+
+    @Test
+    public void concurrentReads_areNeverTorn() throws InterruptedException {
+        final SnapshotState state = new SnapshotState();
+        final AtomicBoolean writing = new AtomicBoolean(true);
+        final AtomicReference<String> failure = new AtomicReference<>();
+        Thread[] readers = new Thread[READERS];
+
+        for (int i = 0; i < READERS; i++) {
+            readers[i] = new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    long[] copy = new long[4];
+                    long last = 0;
+
+                    while (writing.get() && failure.get() == null) {
+                        state.read(copy, READER);
+
+                        String error = check(copy, last);
+
+                        if (error != null) {
+                            failure.compareAndSet(null, error);
+                        }
+
+                        last = copy[0];
+                    }
+                }
+            });
+            readers[i].start();
+        }
+
+        // Simulate a drag
+        for (long progress = 1; progress <= WRITES && failure.get() == null; progress++) {
+            state.publish(progress, angleOf(progress), isPressed(progress), isFinished(progress));
+        }
+
+        writing.set(false);
+
+        for (Thread reader : readers) {
+            reader.join();
+        }
+
+        assertNull(failure.get());
+    }
+
+    /**
+     * Check that a copy matches a single write, and that progress never goes backwards.
+     *
+     * @param copy Copy of the state.
+     * @param last Progress of the previous copy.
+     * @return The error, or null if the copy is consistent.
+     */
+    private static String check(long[] copy, long last) {
+        long progress = copy[0];
+
+        if (progress < last) {
+            return "Progress went back from " + last + " to " + progress;
+        }
+
+        if (progress == 0) {
+            return copy[1] == 0 && copy[2] == 0 && copy[3] == 0 ? null : "Torn initial snapshot";
+        }
+
+        boolean consistent = Double.longBitsToDouble(copy[1]) == angleOf(progress)
+                && (copy[2] == 1) == isPressed(progress)
+                && (copy[3] == 1) == isFinished(progress);
+
+        return consistent ? null : "Torn snapshot at progress " + progress;
+    }
+
+    private static double angleOf(long progress) {
+        return progress * 0.125;
+    }
+
+    private static boolean isPressed(long progress) {
+        return (progress & 1) == 1;
+    }
+
+    private static boolean isFinished(long progress) {
+        return progress % 3 == 0;
+    }
+}